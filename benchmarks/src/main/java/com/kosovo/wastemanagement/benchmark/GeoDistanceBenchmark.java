@@ -0,0 +1,137 @@
+package com.kosovo.wastemanagement.benchmark;
+
+import com.kosovo.wastemanagement.util.GeoPointArray;
+import com.kosovo.wastemanagement.util.GeoUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the struct-of-arrays kernel in {@link GeoPointArray} against the per-entity stream
+ * pattern previously used by BinController.getNearest and ReportService.isWithinRadius.
+ *
+ * <pre>
+ * cd benchmarks && mvn package && java -jar target/benchmarks.jar GeoDistanceBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoDistanceBenchmark {
+
+    // Prishtina centre
+    private static final double QUERY_LAT = 42.6629;
+    private static final double QUERY_LON = 21.1655;
+    private static final double RADIUS_METERS = 5000.0;
+
+    @Param({"1000", "100000", "1000000"})
+    public int points;
+
+    private List<BoxedPoint> entities;
+    private GeoPointArray array;
+    private double[] distances;
+    private int[] matches;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        entities = new ArrayList<>(points);
+        array = new GeoPointArray(points);
+        for (int i = 0; i < points; i++) {
+            // Spread over roughly the extent of Kosovo
+            double lat = 41.85 + random.nextDouble() * 1.0;
+            double lon = 20.0 + random.nextDouble() * 1.1;
+            entities.add(new BoxedPoint((long) i, lat, lon));
+            array.add(i, lat, lon);
+        }
+        distances = new double[points];
+        matches = new int[points];
+    }
+
+    @Benchmark
+    public Optional<BoxedPoint> nearestEntityStream() {
+        return entities.stream()
+                .min(Comparator.comparingDouble(p ->
+                        GeoUtils.distanceMeters(QUERY_LAT, QUERY_LON, p.getLatitude(), p.getLongitude())));
+    }
+
+    @Benchmark
+    public int nearestArray() {
+        return array.nearest(QUERY_LAT, QUERY_LON);
+    }
+
+    @Benchmark
+    public List<BoxedPoint> withinRadiusEntityStream() {
+        return entities.stream()
+                .filter(p -> GeoUtils.distanceMeters(QUERY_LAT, QUERY_LON, p.getLatitude(), p.getLongitude()) <= RADIUS_METERS)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int withinRadiusArray() {
+        return array.withinRadius(QUERY_LAT, QUERY_LON, RADIUS_METERS, matches);
+    }
+
+    @Benchmark
+    public void haversineEntityLoop(Blackhole blackhole) {
+        for (BoxedPoint p : entities) {
+            blackhole.consume(GeoUtils.distanceMeters(QUERY_LAT, QUERY_LON, p.getLatitude(), p.getLongitude()));
+        }
+    }
+
+    @Benchmark
+    public double[] greatCircleArray() {
+        array.distancesMeters(QUERY_LAT, QUERY_LON, distances);
+        return distances;
+    }
+
+    @Benchmark
+    public double[] equirectangularArray() {
+        array.equirectangularMeters(QUERY_LAT, QUERY_LON, distances);
+        return distances;
+    }
+
+    // Mirrors the boxed coordinate fields of the Bin and Report entities
+    public static class BoxedPoint {
+        private final Long id;
+        private final Double latitude;
+        private final Double longitude;
+
+        BoxedPoint(Long id, Double latitude, Double longitude) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Double getLatitude() {
+            return latitude;
+        }
+
+        public Double getLongitude() {
+            return longitude;
+        }
+    }
+}
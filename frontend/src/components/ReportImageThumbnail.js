@@ -0,0 +1,32 @@
+import React, { useEffect, useState } from 'react';
+import { reportsAPI } from '../services/api';
+
+// Image endpoints need the Bearer header, which <img src> cannot send, so the bytes are fetched
+// through the API client and shown from an object URL; the browser still caches the response
+export default function ReportImageThumbnail({ image, className = '' }) {
+  const [src, setSrc] = useState(null);
+
+  useEffect(() => {
+    let objectUrl = null;
+    let cancelled = false;
+    reportsAPI.getImage(image.thumbnailUrl)
+      .then(({ data }) => {
+        if (!cancelled) {
+          objectUrl = URL.createObjectURL(data);
+          setSrc(objectUrl);
+        }
+      })
+      .catch(() => {});
+    return () => {
+      cancelled = true;
+      if (objectUrl) {
+        URL.revokeObjectURL(objectUrl);
+      }
+    };
+  }, [image.thumbnailUrl]);
+
+  if (!src) {
+    return <div className={`bg-gray-100 dark:bg-gray-700 animate-pulse ${className}`} />;
+  }
+  return <img src={src} alt={image.fileName} className={`object-cover ${className}`} />;
+}
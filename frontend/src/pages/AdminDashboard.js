@@ -1,6 +1,6 @@
 import React, { useState } from 'react';
 import { useQuery } from 'react-query';
-import { reportsAPI, usersAPI } from '../services/api';
+import { adminAPI, reportsAPI, usersAPI } from '../services/api';
 import { 
   Users, 
   AlertCircle, 
@@ -28,6 +28,15 @@ const AdminDashboard = () => {
     }
   );
 
+  // Counters are maintained server-side, so they cover every report, not just the loaded page
+  const { data: statsData } = useQuery(
+    'adminStats',
+    () => adminAPI.getStats(),
+    {
+      refetchInterval: 30000,
+    }
+  );
+
   // Fetch users data
   const { data: usersData, isLoading: usersLoading } = useQuery(
     'adminUsers',
@@ -38,6 +47,7 @@ const AdminDashboard = () => {
   );
 
   const reports = reportsData?.data?.content || [];
+  const reportCounts = statsData?.data?.byStatus || {};
   const users = usersData?.data || [];
 
   const getStatusIcon = (status) => {
@@ -94,10 +104,10 @@ const AdminDashboard = () => {
 
   // Statistics
   const stats = {
-    totalReports: reports.length,
-    pendingReports: reports.filter(r => r.status === 'PENDING').length,
-    inProgressReports: reports.filter(r => r.status === 'IN_PROGRESS').length,
-    resolvedReports: reports.filter(r => r.status === 'RESOLVED').length,
+    totalReports: statsData?.data?.total ?? reports.length,
+    pendingReports: reportCounts.PENDING || 0,
+    inProgressReports: reportCounts.IN_PROGRESS || 0,
+    resolvedReports: reportCounts.RESOLVED || 0,
     totalUsers: users.length,
     citizens: users.filter(u => u.role === 'CITIZEN').length,
     workers: users.filter(u => u.role === 'WORKER').length,
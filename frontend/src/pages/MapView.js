@@ -8,6 +8,18 @@ import { MapPin, Sun, Moon, LocateFixed, X, SlidersHorizontal } from 'lucide-rea
 
 // Backend bins
 
+// Reports the visible map bounds as [minLon, minLat, maxLon, maxLat]
+function ViewportBounds({ onChange }) {
+  const map = useMap();
+  const update = () => {
+    const b = map.getBounds();
+    onChange([b.getWest(), b.getSouth(), b.getEast(), b.getNorth()]);
+  };
+  useEffect(update, [map]); // eslint-disable-line react-hooks/exhaustive-deps
+  useMapEvent('moveend', update);
+  return null;
+}
+
 export default function MapView() {
   const [selected, setSelected] = useState(null);
   const [bins, setBins] = useState([]);
@@ -20,6 +32,8 @@ export default function MapView() {
   const [mapStyle, setMapStyle] = useState('light');
   const [typeFilters, setTypeFilters] = useState(new Set());
   const [maxFill, setMaxFill] = useState(1);
+  const [bbox, setBbox] = useState(null);
+  const [reloadKey, setReloadKey] = useState(0);
   const center = useMemo(() => [42.6629, 21.1655], []);
 
   const getFillColor = (fill) => (fill < 0.5 ? '#22c55e' : fill < 0.8 ? '#f59e0b' : '#ef4444');
@@ -100,29 +114,32 @@ export default function MapView() {
 
   const handleClearRoute = () => setRouteCoords(null);
 
+  const normalizeBin = (b) => ({
+    id: b.id,
+    lat: b.latitude,
+    lng: b.longitude,
+    type: b.type || 'GENERAL',
+    fill: b.fillLevel ?? 0,
+    address: b.address || 'Unknown address',
+    name: b.name,
+  });
+
+  // Only download the bins inside the visible map area
   useEffect(() => {
+    if (!bbox) return;
     let mounted = true;
     setLoading(true);
     binsAPI
-      .getBins()
+      .getWithin(bbox, { size: 2000 })
       .then((res) => {
         if (!mounted) return;
-        const normalized = (res.data || []).map((b) => ({
-          id: b.id,
-          lat: b.latitude,
-          lng: b.longitude,
-          type: b.type || 'GENERAL',
-          fill: b.fillLevel ?? 0,
-          address: b.address || 'Unknown address',
-          name: b.name,
-        }));
-        setBins(normalized);
+        setBins((res.data?.content || []).map(normalizeBin));
       })
       .finally(() => mounted && setLoading(false));
     return () => {
       mounted = false;
     };
-  }, []);
+  }, [bbox, reloadKey]);
 
   const findNearest = async () => {
     const [clat, clng] = center;
@@ -349,6 +366,7 @@ export default function MapView() {
             />
             <ScaleControl position="bottomright" />
             <ClickCapture />
+            <ViewportBounds onChange={setBbox} />
             {userLocation && (
               <>
                 <CircleMarker
@@ -475,19 +493,7 @@ export default function MapView() {
               setAdding(false);
               setForm({ name: '', type: 'GENERAL', address: '', fillLevel: 0 });
               // reload
-              setLoading(true);
-              const res = await binsAPI.getBins();
-              const normalized = (res.data || []).map((b) => ({
-                id: b.id,
-                lat: b.latitude,
-                lng: b.longitude,
-                type: b.type || 'GENERAL',
-                fill: b.fillLevel ?? 0,
-                address: b.address || 'Unknown address',
-                name: b.name,
-              }));
-              setBins(normalized);
-              setLoading(false);
+              setReloadKey((k) => k + 1);
             }}
           >
             <div className="space-y-2">
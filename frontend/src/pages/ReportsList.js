@@ -3,6 +3,7 @@ import { useAuth } from '../contexts/AuthContext';
 import { useQuery } from 'react-query';
 import { reportsAPI } from '../services/api';
 import StatusBadge from '../components/StatusBadge';
+import ReportImageThumbnail from '../components/ReportImageThumbnail';
 import { ReportCardSkeleton } from '../components/Skeleton';
 import { 
   AlertCircle, 
@@ -252,6 +253,18 @@ const ReportsList = () => {
                           <p className="text-gray-600 dark:text-gray-300 mb-6 line-clamp-2">
                             {report.description}
                           </p>
+
+                          {report.images?.length > 0 && (
+                            <div className="flex space-x-3 mb-6">
+                              {report.images.map((image) => (
+                                <ReportImageThumbnail
+                                  key={image.id}
+                                  image={image}
+                                  className="h-20 w-20 rounded-xl"
+                                />
+                              ))}
+                            </div>
+                          )}
                           
                           <div className="grid grid-cols-1 md:grid-cols-3 gap-4 text-sm text-gray-500 dark:text-gray-400 mb-4">
                             <div className="flex items-center">
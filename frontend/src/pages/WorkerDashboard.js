@@ -1,6 +1,7 @@
-import React, { useState } from 'react';
-import { useQuery } from 'react-query';
+import React, { useEffect, useState } from 'react';
+import { useQuery, useQueryClient } from 'react-query';
 import { reportsAPI, usersAPI } from '../services/api';
+import { useAuth } from '../contexts/AuthContext';
 import { 
   AlertCircle, 
   CheckCircle, 
@@ -22,20 +23,65 @@ import {
 import StatusBadge from '../components/StatusBadge';
 import { ReportCardSkeleton } from '../components/Skeleton';
 
+// Replaces a report in the cached page, or puts it first when the page does not have it yet
+const withReport = (page, report) => {
+  if (!page?.data?.content) {
+    return page;
+  }
+  const content = page.data.content.some((r) => r.id === report.id)
+    ? page.data.content.map((r) => (r.id === report.id ? report : r))
+    : [report, ...page.data.content];
+  return { ...page, data: { ...page.data, content } };
+};
+
 const WorkerDashboard = () => {
   const [reportFilter, setReportFilter] = useState('ASSIGNED');
   const [searchTerm, setSearchTerm] = useState('');
   const [updatingStatus, setUpdatingStatus] = useState(null);
+  const { user } = useAuth();
+  const queryClient = useQueryClient();
 
   // Fetch reports data
   const { data: reportsData, isLoading: reportsLoading, refetch } = useQuery(
     'workerReports',
     () => reportsAPI.getReports({ page: 0, size: 100 }),
     {
-      refetchInterval: 30000, // Refetch every 30 seconds
+      refetchInterval: 300000, // Fallback only; changes arrive over the event stream
     }
   );
 
+  // Applies pushed changes to this worker's reports instead of polling or refetching the list
+  useEffect(() => {
+    if (!user?.id) {
+      return undefined;
+    }
+    const loadReport = async (reportId) => {
+      try {
+        const { data: report } = await reportsAPI.getReportById(reportId);
+        queryClient.setQueryData('workerReports', (page) => withReport(page, report));
+      } catch (error) {
+        console.error('Error loading report:', error);
+      }
+    };
+    const applyEvent = (event) => {
+      const cached = queryClient.getQueryData('workerReports')?.data?.content || [];
+      const current = cached.find((r) => r.id === event.reportId);
+      if (!current || (current.assignedWorker?.id ?? null) !== (event.assignedWorkerId ?? null)) {
+        // New to this worker or reassigned: the event lacks the details shown, so load just this report
+        loadReport(event.reportId);
+        return;
+      }
+      queryClient.setQueryData('workerReports', (page) =>
+        withReport(page, { ...current, status: event.status, priority: event.priority }));
+    };
+    const source = reportsAPI.openReportStream({ assignedWorkerId: user.id }, {
+      onCreated: applyEvent,
+      onStatusChanged: applyEvent,
+      onAssigned: applyEvent,
+    });
+    return () => source.close();
+  }, [user?.id, queryClient]);
+
   const reports = reportsData?.data?.content || [];
 
   const getStatusIcon = (status) => {
@@ -91,18 +91,132 @@ export const reportsAPI = {
     // Let the browser set the correct multipart boundary
     return api.post('/reports', formData);
   },
+
+  // reportData.uploadIds: ids returned by uploadsAPI.uploadFile
+  createReportFromUploads: (reportData) => api.post('/reports', reportData),
   
   getReports: (params) => api.get('/reports', { params }),
   getReportById: (id) => api.get(`/reports/${id}`),
+  // url / thumbnailUrl from a report's images; they are absolute paths under /api
+  getImage: (url) => api.get(url.replace(/^\/api/, ''), { responseType: 'blob' }),
+  searchReports: (q, params = {}) => api.get('/reports/search', { params: { q, ...params } }),
+  // params: { areaId, status, assignedWorkerId }; handlers: { onCreated, onStatusChanged, onAssigned }.
+  // Each connection is opened with a single-use ticket, so reconnects are handled here rather than
+  // by EventSource, passing the last event id to replay what was missed. Call .close() to stop.
+  openReportStream: (params = {}, { onCreated, onStatusChanged, onAssigned } = {}) => {
+    let source = null;
+    let closed = false;
+    let lastEventId = null;
+    let retryTimer = null;
+
+    const track = (handler) => (e) => {
+      if (e.lastEventId) {
+        lastEventId = e.lastEventId;
+      }
+      handler(JSON.parse(e.data));
+    };
+
+    const connect = async () => {
+      try {
+        const { data } = await api.post('/reports/stream/ticket');
+        if (closed) {
+          return;
+        }
+        const query = new URLSearchParams({ ticket: data.ticket });
+        Object.entries(params).forEach(([key, value]) => {
+          if (value !== undefined && value !== null && value !== '') {
+            query.append(key, value);
+          }
+        });
+        if (lastEventId) {
+          query.append('lastEventId', lastEventId);
+        }
+        source = new EventSource(`${API_BASE_URL}/reports/stream?${query}`);
+        if (onCreated) {
+          source.addEventListener('report-created', track(onCreated));
+        }
+        if (onStatusChanged) {
+          source.addEventListener('report-status-changed', track(onStatusChanged));
+        }
+        if (onAssigned) {
+          source.addEventListener('report-assigned', track(onAssigned));
+        }
+        source.onerror = () => {
+          source.close();
+          reconnect();
+        };
+      } catch (error) {
+        reconnect();
+      }
+    };
+
+    const reconnect = () => {
+      if (!closed && !retryTimer) {
+        retryTimer = setTimeout(() => {
+          retryTimer = null;
+          connect();
+        }, 3000);
+      }
+    };
+
+    connect();
+    return {
+      close: () => {
+        closed = true;
+        clearTimeout(retryTimer);
+        if (source) {
+          source.close();
+        }
+      },
+    };
+  },
   getReportsByUser: (userId) => api.get(`/reports/user/${userId}`),
   updateReportStatus: (id, status, assignedWorkerId) => 
     api.put(`/reports/${id}/status`, null, {
       params: { status, assignedWorkerId }
     }),
-  getReportsNearby: (latitude, longitude, radius) => 
+  getReportsNearby: (latitude, longitude, radiusKm, params = {}) => 
     api.get('/reports/nearby', {
-      params: { latitude, longitude, radius }
+      params: { latitude, longitude, radiusKm, ...params }
+    }),
+};
+
+// Resumable uploads API
+export const uploadsAPI = {
+  startUpload: (file) =>
+    api.post('/uploads', { fileName: file.name, contentType: file.type, size: file.size }),
+  getUpload: (uploadId) => api.get(`/uploads/${uploadId}`),
+  uploadChunk: (uploadId, offset, chunk) =>
+    api.put(`/uploads/${uploadId}`, chunk, {
+      params: { offset },
+      headers: { 'Content-Type': 'application/octet-stream' },
     }),
+  commitUpload: (uploadId) => api.post(`/uploads/${uploadId}/commit`),
+
+  // Sends the file chunk by chunk; on a 409 or a dropped connection it resumes from the server's offset
+  uploadFile: async (file, { retries = 5 } = {}) => {
+    const { data: upload } = await uploadsAPI.startUpload(file);
+    let offset = upload.offset;
+    let attempts = 0;
+    while (offset < file.size) {
+      try {
+        const chunk = file.slice(offset, offset + upload.maxChunkSize);
+        const { data } = await uploadsAPI.uploadChunk(upload.uploadId, offset, chunk);
+        offset = data.offset;
+        attempts = 0;
+      } catch (error) {
+        if (error.response?.status === 409) {
+          offset = error.response.data.offset;
+        } else if (++attempts > retries) {
+          throw error;
+        } else {
+          offset = (await uploadsAPI.getUpload(upload.uploadId)).data.offset;
+        }
+      }
+    }
+    await uploadsAPI.commitUpload(upload.uploadId);
+    return upload.uploadId;
+  },
 };
 
 // Bins API
@@ -111,12 +225,31 @@ export const binsAPI = {
   createBin: (data) => api.post('/bins', data),
   getNearest: (latitude, longitude, maxFill = 0.7) =>
     api.get('/bins/nearest', { params: { latitude, longitude, maxFill } }),
+  getNearby: (latitude, longitude, params = {}) =>
+    api.get('/bins/nearby', { params: { latitude, longitude, ...params } }),
+  // bbox: [minLon, minLat, maxLon, maxLat]
+  getWithin: (bbox, params = {}) =>
+    api.get('/bins/within', { params: { bbox: bbox.join(','), ...params } }),
+};
+
+// Admin API
+export const adminAPI = {
+  getStats: (days = 30) => api.get('/admin/stats', { params: { days } }),
+  rebuildStats: () => api.post('/admin/stats/rebuild'),
+};
+
+// Map API
+export const mapAPI = {
+  // layer: 'BINS' | 'REPORTS'; bbox: [minLon, minLat, maxLon, maxLat]
+  getClusters: (layer, zoom, bbox) =>
+    api.get('/map/clusters', { params: { layer, zoom, bbox: bbox.join(',') } }),
 };
 
 // Areas API
 export const areasAPI = {
   getAreas: () => api.get('/areas'),
   getAreaById: (id) => api.get(`/areas/${id}`),
+  searchAreas: (q, params = {}) => api.get('/areas/search', { params: { q, ...params } }),
 };
 
 // Users API
@@ -0,0 +1,90 @@
+package com.kosovo.wastemanagement.controller;
+
+import com.kosovo.wastemanagement.dto.BinImportResponse;
+import com.kosovo.wastemanagement.dto.ReportStatsResponse;
+import com.kosovo.wastemanagement.dto.RouteResponse;
+import com.kosovo.wastemanagement.model.Report;
+import com.kosovo.wastemanagement.service.BinImportService;
+import com.kosovo.wastemanagement.service.ReportExportService;
+import com.kosovo.wastemanagement.service.ReportStatsService;
+import com.kosovo.wastemanagement.service.RoutePlanningService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final BinImportService binImportService;
+    private final RoutePlanningService routePlanningService;
+    private final ReportStatsService reportStatsService;
+    private final ReportExportService reportExportService;
+
+    // The request body is read as a stream, so large files are never held in memory
+    @PostMapping(value = "/bins/import", consumes = {"text/csv", "text/plain", "application/geo+json", "application/json"})
+    public ResponseEntity<?> importBins(
+            @RequestParam(defaultValue = "CSV") BinImportService.Format format,
+            InputStream body) {
+        try {
+            BinImportResponse response = binImportService.importBins(body, format);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error importing bins", e);
+            return ResponseEntity.badRequest().body("Error importing bins: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/routes")
+    public ResponseEntity<List<RouteResponse>> planAllRoutes(@RequestParam(defaultValue = "0.7") double fillThreshold) {
+        return ResponseEntity.ok(routePlanningService.planAllRoutes(fillThreshold));
+    }
+
+    // Rows are written while the cursor is read, on an async thread, so the export size is unbounded
+    @GetMapping("/reports/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @RequestParam(defaultValue = "CSV") ReportExportService.Format format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Report.ReportStatus> status,
+            @RequestParam(defaultValue = "true") boolean gzip) {
+        String fileName = "reports" + (from != null ? "-from-" + from : "") + (to != null ? "-to-" + to : "")
+                + (format == ReportExportService.Format.CSV ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : format == ReportExportService.Format.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+
+        StreamingResponseBody body = out -> reportExportService.export(out, format, from, to, status, gzip);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ReportStatsResponse> getStats(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(reportStatsService.getStats(Math.min(days, 366)));
+    }
+
+    // Recomputes the counters from the reports table, e.g. after manual data fixes
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<ReportStatsResponse> rebuildStats(@RequestParam(defaultValue = "30") int days) {
+        reportStatsService.rebuild();
+        return ResponseEntity.ok(reportStatsService.getStats(Math.min(days, 366)));
+    }
+}
@@ -1,5 +1,7 @@
 package com.kosovo.wastemanagement.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kosovo.wastemanagement.dto.AreaBoundaryImportResponse;
 import com.kosovo.wastemanagement.dto.AreaResponse;
 import com.kosovo.wastemanagement.model.Area;
 import com.kosovo.wastemanagement.service.AreaService;
@@ -24,6 +26,14 @@ public class AreaController {
         return ResponseEntity.ok(areas);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<AreaResponse>> searchAreas(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "true") boolean activeOnly,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(areaService.searchAreas(query, activeOnly, Math.max(1, Math.min(limit, 100))));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AreaResponse> getAreaById(@PathVariable Long id) {
         AreaResponse area = areaService.getAreaById(id);
@@ -44,6 +54,20 @@ public class AreaController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/{id}/boundary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AreaResponse> updateBoundary(@PathVariable Long id, @RequestBody JsonNode geoJson) {
+        AreaResponse response = areaService.updateBoundary(id, geoJson);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/boundaries/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AreaBoundaryImportResponse> importBoundaries(@RequestBody JsonNode featureCollection) {
+        AreaBoundaryImportResponse response = areaService.importBoundaries(featureCollection);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteArea(@PathVariable Long id) {
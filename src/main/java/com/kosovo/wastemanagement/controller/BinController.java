@@ -1,13 +1,26 @@
 package com.kosovo.wastemanagement.controller;
 
+import com.kosovo.wastemanagement.dto.BinFillPointResponse;
+import com.kosovo.wastemanagement.dto.BinForecastResponse;
+import com.kosovo.wastemanagement.dto.BinReadingBatchResponse;
+import com.kosovo.wastemanagement.dto.BinReadingRequest;
+import com.kosovo.wastemanagement.dto.BinResponse;
 import com.kosovo.wastemanagement.model.Bin;
 import com.kosovo.wastemanagement.repository.BinRepository;
+import com.kosovo.wastemanagement.service.BinFillForecastService;
+import com.kosovo.wastemanagement.service.BinFillHistoryService;
+import com.kosovo.wastemanagement.service.BinService;
+import com.kosovo.wastemanagement.service.BinTelemetryService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,9 +30,17 @@ import java.util.Optional;
 public class BinController {
 
     private final BinRepository binRepository;
+    private final BinService binService;
+    private final BinTelemetryService binTelemetryService;
+    private final BinFillForecastService binFillForecastService;
 
-    public BinController(BinRepository binRepository) {
+    public BinController(BinRepository binRepository, BinService binService,
+                         BinTelemetryService binTelemetryService,
+                         BinFillForecastService binFillForecastService) {
         this.binRepository = binRepository;
+        this.binService = binService;
+        this.binTelemetryService = binTelemetryService;
+        this.binFillForecastService = binFillForecastService;
     }
 
     @GetMapping
@@ -30,36 +51,98 @@ public class BinController {
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Bin> create(@Valid @RequestBody Bin bin) {
-        Bin saved = binRepository.save(bin);
+        Bin saved = binService.saveBin(bin);
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/readings")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WORKER')")
+    public ResponseEntity<BinReadingBatchResponse> ingestReadings(
+            @Valid @RequestBody List<@Valid BinReadingRequest> readings) {
+        BinReadingBatchResponse response = binTelemetryService.ingest(readings);
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/forecast")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WORKER')")
+    public ResponseEntity<List<BinForecastResponse>> getForecast(
+            @RequestParam(value = "hours", defaultValue = "24") double hours,
+            @RequestParam(value = "threshold", defaultValue = "0.8") double threshold
+    ) {
+        return ResponseEntity.ok(binFillForecastService.forecast(hours, threshold));
+    }
+
     @GetMapping("/nearest")
     public ResponseEntity<Bin> getNearest(
             @RequestParam("latitude") double latitude,
             @RequestParam("longitude") double longitude,
             @RequestParam(value = "maxFill", required = false, defaultValue = "0.7") double maxFill
     ) {
-        List<Bin> all = binRepository.findAll();
-        Optional<Bin> nearest = all.stream()
-                .filter(b -> b.getFillLevel() == null || b.getFillLevel() <= maxFill)
-                .min(Comparator.comparingDouble(a -> distanceMeters(latitude, longitude, a.getLatitude(), a.getLongitude())));
+        Optional<Bin> nearest = binService.findNearest(latitude, longitude, maxFill);
 
         return nearest.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.noContent().build());
     }
 
-    private static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
-        // Haversine formula
-        double R = 6371000.0; // meters
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+    @GetMapping("/nearby")
+    public ResponseEntity<Page<BinResponse>> getNearby(
+            @RequestParam("latitude") double latitude,
+            @RequestParam("longitude") double longitude,
+            @RequestParam(value = "k", defaultValue = "50") int k,
+            @RequestParam(value = "radius", required = false) Double radiusMeters,
+            @RequestParam(value = "type", required = false) Bin.BinType type,
+            @RequestParam(value = "maxFill", required = false) Double maxFill,
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        Page<BinResponse> bins = binService.findNearby(latitude, longitude, Math.min(k, 1000),
+                radiusMeters, type, maxFill, pageable);
+        return ResponseEntity.ok(bins);
     }
-}
 
+    // bbox follows the GeoJSON order: minLon,minLat,maxLon,maxLat
+    @GetMapping("/within")
+    public ResponseEntity<Page<BinResponse>> getWithin(
+            @RequestParam("bbox") double[] bbox,
+            @RequestParam(value = "latitude", required = false) Double latitude,
+            @RequestParam(value = "longitude", required = false) Double longitude,
+            @RequestParam(value = "type", required = false) Bin.BinType type,
+            @RequestParam(value = "maxFill", required = false) Double maxFill,
+            @PageableDefault(size = 500) Pageable pageable
+    ) {
+        if (bbox.length != 4 || bbox[0] > bbox[2] || bbox[1] > bbox[3]) {
+            return ResponseEntity.badRequest().build();
+        }
+        Page<BinResponse> bins = binService.findWithin(bbox[1], bbox[0], bbox[3], bbox[2],
+                latitude, longitude, type, maxFill, pageable);
+        return ResponseEntity.ok(bins);
+    }
 
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<BinFillPointResponse>> getFillHistory(
+            @PathVariable Long id,
+            @RequestParam(value = "resolution", defaultValue = "HOURLY") BinFillHistoryService.Resolution resolution,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        return ResponseEntity.ok(binService.getFillHistory(id, resolution, start, end));
+    }
 
+    // Aggregated fill curve for every bin inside bbox (minLon,minLat,maxLon,maxLat)
+    @GetMapping("/history")
+    public ResponseEntity<List<BinFillPointResponse>> getAreaFillHistory(
+            @RequestParam("bbox") double[] bbox,
+            @RequestParam(value = "type", required = false) Bin.BinType type,
+            @RequestParam(value = "resolution", defaultValue = "DAILY") BinFillHistoryService.Resolution resolution,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        if (bbox.length != 4 || bbox[0] > bbox[2] || bbox[1] > bbox[3]) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+        return ResponseEntity.ok(binService.getAreaFillHistory(bbox[1], bbox[0], bbox[3], bbox[2],
+                type, resolution, start, end));
+    }
+}
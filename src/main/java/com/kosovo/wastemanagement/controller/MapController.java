@@ -0,0 +1,31 @@
+package com.kosovo.wastemanagement.controller;
+
+import com.kosovo.wastemanagement.dto.ClusterResponse;
+import com.kosovo.wastemanagement.service.MapClusterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/map")
+@RequiredArgsConstructor
+public class MapController {
+
+    private final MapClusterService mapClusterService;
+
+    // bbox follows the GeoJSON order: minLon,minLat,maxLon,maxLat
+    @GetMapping("/clusters")
+    public ResponseEntity<List<ClusterResponse>> getClusters(
+            @RequestParam(defaultValue = "BINS") MapClusterService.Layer layer,
+            @RequestParam int zoom,
+            @RequestParam double[] bbox) {
+        if (bbox.length != 4 || bbox[0] > bbox[2] || bbox[1] > bbox[3]) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<ClusterResponse> clusters = mapClusterService.getClusters(layer, zoom, bbox[1], bbox[0], bbox[3], bbox[2]);
+        return ResponseEntity.ok(clusters);
+    }
+}
@@ -1,20 +1,37 @@
 package com.kosovo.wastemanagement.controller;
 
+import com.kosovo.wastemanagement.dto.CursorPageResponse;
 import com.kosovo.wastemanagement.dto.ReportRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kosovo.wastemanagement.dto.ReportResponse;
 import com.kosovo.wastemanagement.model.Report;
+import com.kosovo.wastemanagement.security.StreamTicketService;
+import com.kosovo.wastemanagement.service.ReportEventBroadcaster;
 import com.kosovo.wastemanagement.service.ReportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -22,7 +39,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReportController {
 
+    // Tomcat only uses sendfile for larger bodies; small thumbnails are cheaper to stream
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
     private final ReportService reportService;
+    private final ReportEventBroadcaster reportEventBroadcaster;
+    private final StreamTicketService streamTicketService;
 
     @PostMapping(consumes = "multipart/form-data")
     public ResponseEntity<ReportResponse> createReport(
@@ -35,6 +61,13 @@ public class ReportController {
         return ResponseEntity.ok(response);
     }
 
+    // For clients that sent their photos through /api/uploads beforehand
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ReportResponse> createReportFromUploads(@Valid @RequestBody ReportRequest reportRequest) {
+        ReportResponse response = reportService.createReport(reportRequest, null);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('WORKER')")
     public ResponseEntity<Page<ReportResponse>> getReports(
@@ -47,12 +80,134 @@ public class ReportController {
         return ResponseEntity.ok(reports);
     }
 
+    // Single-use ticket for opening /stream, which EventSource cannot send a Bearer header to
+    @PostMapping("/stream/ticket")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WORKER')")
+    public ResponseEntity<Map<String, String>> issueStreamTicket(Authentication authentication) {
+        return ResponseEntity.ok(Map.of("ticket", streamTicketService.issue(authentication.getName())));
+    }
+
+    // Each (re)connect needs a fresh ticket, so clients reopen the stream themselves and pass the
+    // last event id as a parameter; Last-Event-ID still works for clients that can send it
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WORKER')")
+    public SseEmitter streamReportEvents(
+            @RequestParam(required = false) Long areaId,
+            @RequestParam(required = false) Report.ReportStatus status,
+            @RequestParam(required = false) Long assignedWorkerId,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        return reportEventBroadcaster.subscribe(
+                new ReportEventBroadcaster.Filter(areaId, status, assignedWorkerId),
+                lastEventId != null ? lastEventId : lastEventIdParam);
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WORKER')")
+    public ResponseEntity<Slice<ReportResponse>> searchReports(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Report.ReportStatus status,
+            @RequestParam(required = false) Long areaId,
+            Pageable pageable) {
+
+        return ResponseEntity.ok(reportService.searchReports(query, status, areaId, pageable));
+    }
+
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('WORKER')")
+    public ResponseEntity<CursorPageResponse<ReportResponse>> scrollReports(
+            @RequestParam(required = false) Report.ReportStatus status,
+            @RequestParam(required = false) Long areaId,
+            @RequestParam(required = false) Report.ReportPriority priority,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPageResponse<ReportResponse> reports = reportService.getReportsByCursor(
+                status, areaId, priority, cursor, Math.max(1, Math.min(size, 100)), includeTotal);
+        return ResponseEntity.ok(reports);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ReportResponse> getReportById(@PathVariable Long id) {
         ReportResponse report = reportService.getReportById(id);
         return ResponseEntity.ok(report);
     }
 
+    @GetMapping("/{id}/images/{imageId}")
+    public ResponseEntity<?> getReportImage(
+            @PathVariable Long id,
+            @PathVariable Long imageId,
+            @RequestParam(defaultValue = "ORIGINAL") ReportService.ImageVariant variant,
+            ServletWebRequest webRequest) {
+
+        ReportService.ImageFile file = reportService.getReportImageFile(id, imageId, variant);
+        // Checked up front: a 304 must never carry the sendfile attributes below
+        if (webRequest.checkNotModified(file.etag())) {
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(file.etag());
+        // Private: the endpoint requires authentication, so shared caches must not serve it to others
+        headers.setCacheControl(file.immutable()
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable()
+                : CacheControl.noCache());
+        headers.setContentType(MediaType.parseMediaType(file.contentType()));
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        HttpServletRequest request = webRequest.getRequest();
+        if (HttpMethod.GET.matches(request.getMethod()) && file.size() >= SENDFILE_MIN_BYTES
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            ResponseEntity<?> response = sendfile(request, file, headers);
+            if (response != null) {
+                return response;
+            }
+        }
+        // Streams from disk in small buffers; Spring answers Range requests with 206 or 416
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file.path()));
+    }
+
+    // Lets Tomcat copy the file straight from the page cache to the socket once the handler returns
+    private static ResponseEntity<?> sendfile(HttpServletRequest request, ReportService.ImageFile file, HttpHeaders headers) {
+        long length = file.size();
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(file.etag()))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (ranges.size() != 1) {
+                // Multipart byte ranges are left to Spring
+                return null;
+            }
+            try {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        headers.setContentLength(end - start + 1);
+        request.setAttribute(SENDFILE_FILENAME_ATTR, file.path().toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTR, start);
+        request.setAttribute(SENDFILE_END_ATTR, end + 1);
+        return ResponseEntity.status(status).headers(headers).build();
+    }
+
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('ADMIN') or @reportService.isReportOwner(#userId, authentication)")
     public ResponseEntity<List<ReportResponse>> getReportsByUser(@PathVariable Long userId) {
@@ -72,12 +227,16 @@ public class ReportController {
     }
 
     @GetMapping("/nearby")
-    public ResponseEntity<List<ReportResponse>> getReportsNearLocation(
+    public ResponseEntity<Page<ReportResponse>> getReportsNearLocation(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam(defaultValue = "5.0") Double radiusKm) {
+            @RequestParam(defaultValue = "5.0") Double radiusKm,
+            @RequestParam(required = false) Report.ReportStatus status,
+            @RequestParam(required = false) Report.ReportType type,
+            Pageable pageable) {
         
-        List<ReportResponse> reports = reportService.getReportsNearLocation(latitude, longitude, radiusKm);
+        Page<ReportResponse> reports = reportService.getReportsNearLocation(latitude, longitude,
+                Math.min(radiusKm, 50.0), status, type, pageable);
         return ResponseEntity.ok(reports);
     }
 }
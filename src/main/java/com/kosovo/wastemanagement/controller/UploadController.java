@@ -0,0 +1,79 @@
+package com.kosovo.wastemanagement.controller;
+
+import com.kosovo.wastemanagement.dto.UploadResponse;
+import com.kosovo.wastemanagement.dto.UploadStartRequest;
+import com.kosovo.wastemanagement.service.UploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Uploads", description = "Resumable chunked uploads for report photos")
+@SecurityRequirement(name = "bearerAuth")
+public class UploadController {
+
+    private final UploadService uploadService;
+
+    @PostMapping
+    @Operation(summary = "Start upload", description = "Declare a photo upload and receive its id")
+    public ResponseEntity<?> startUpload(@Valid @RequestBody UploadStartRequest request) {
+        try {
+            return ResponseEntity.ok(uploadService.startUpload(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error starting upload: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{uploadId}")
+    @Operation(summary = "Get upload", description = "Current offset of an upload, used to resume after a dropped connection")
+    public ResponseEntity<?> getUpload(@PathVariable String uploadId) {
+        try {
+            return ResponseEntity.ok(uploadService.getUpload(uploadId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Raw request body, so chunks bypass multipart parsing and its temporary files
+    @PutMapping("/{uploadId}")
+    @Operation(summary = "Upload chunk", description = "Write the request body at the given offset; 409 returns the expected offset")
+    public ResponseEntity<?> uploadChunk(@PathVariable String uploadId,
+                                         @RequestParam long offset,
+                                         HttpServletRequest request) throws IOException {
+        try (InputStream body = request.getInputStream()) {
+            UploadResponse response = uploadService.appendChunk(uploadId, offset, body);
+            return ResponseEntity.ok(response);
+        } catch (UploadService.OffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("uploadId", uploadId, "offset", e.getOffset()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error uploading chunk: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/{uploadId}/commit")
+    @Operation(summary = "Commit upload", description = "Finish a fully received upload so it can be attached to a report")
+    public ResponseEntity<?> commitUpload(@PathVariable String uploadId,
+                                          @RequestParam(required = false) String sha256) {
+        try {
+            return ResponseEntity.ok(uploadService.commitUpload(uploadId, sha256));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error committing upload: " + e.getMessage());
+        }
+    }
+}
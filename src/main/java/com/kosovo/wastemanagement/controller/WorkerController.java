@@ -0,0 +1,58 @@
+package com.kosovo.wastemanagement.controller;
+
+import com.kosovo.wastemanagement.dto.RouteResponse;
+import com.kosovo.wastemanagement.model.User;
+import com.kosovo.wastemanagement.security.UserPrincipal;
+import com.kosovo.wastemanagement.service.RoutePlanningService;
+import com.kosovo.wastemanagement.service.WorkerAssignmentEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/worker")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN') or hasRole('WORKER')")
+public class WorkerController {
+
+    private final RoutePlanningService routePlanningService;
+    private final WorkerAssignmentEngine workerAssignmentEngine;
+
+    @GetMapping("/route")
+    public ResponseEntity<?> getRoute(
+            @RequestParam(required = false) Long workerId,
+            @RequestParam(defaultValue = "0.7") double fillThreshold,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            Authentication authentication) {
+        try {
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            // Workers always get their own route; admins may plan for any worker
+            Long targetId = workerId != null && userPrincipal.getRole() == User.Role.ADMIN
+                    ? workerId : userPrincipal.getId();
+            if (latitude != null && longitude != null && targetId.equals(userPrincipal.getId())) {
+                workerAssignmentEngine.updateLocation(targetId, latitude, longitude);
+            }
+            RouteResponse route = routePlanningService.planRoute(targetId, fillThreshold, latitude, longitude);
+            return ResponseEntity.ok(route);
+        } catch (Exception e) {
+            log.error("Error planning route", e);
+            return ResponseEntity.badRequest().body("Error planning route: " + e.getMessage());
+        }
+    }
+
+    // Last known position, used to assign new reports to the nearest worker
+    @PutMapping("/location")
+    public ResponseEntity<?> updateLocation(@RequestParam double latitude,
+                                            @RequestParam double longitude,
+                                            Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        workerAssignmentEngine.updateLocation(userPrincipal.getId(), latitude, longitude);
+        return ResponseEntity.noContent().build();
+    }
+}
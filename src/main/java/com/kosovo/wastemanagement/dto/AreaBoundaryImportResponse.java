@@ -0,0 +1,18 @@
+package com.kosovo.wastemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AreaBoundaryImportResponse {
+    private int updated;
+    // Features that matched no area or had an invalid geometry
+    private List<String> skipped;
+}
@@ -19,6 +19,7 @@ public class AreaResponse {
     private String neighborhood;
     private Double centerLatitude;
     private Double centerLongitude;
+    private boolean hasBoundary;
     private List<CollectionScheduleResponse> schedules;
 }
 
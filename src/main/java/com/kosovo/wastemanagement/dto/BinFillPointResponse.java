@@ -0,0 +1,20 @@
+package com.kosovo.wastemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BinFillPointResponse {
+    private LocalDateTime bucketStart;
+    private Double minFill;
+    private Double maxFill;
+    private Double avgFill;
+    private Long sampleCount;
+}
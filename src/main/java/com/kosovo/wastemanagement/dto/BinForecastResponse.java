@@ -0,0 +1,23 @@
+package com.kosovo.wastemanagement.dto;
+
+import com.kosovo.wastemanagement.model.Bin;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BinForecastResponse {
+    private Long binId;
+    private String name;
+    private Double latitude;
+    private Double longitude;
+    private Bin.BinType type;
+    private Double currentFill;
+    private Double predictedFill;
+    private Double fillRatePerHour;
+    private Double hoursUntilThreshold;
+}
@@ -0,0 +1,18 @@
+package com.kosovo.wastemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BinReadingBatchResponse {
+    private int accepted;
+    private int rejected;
+    private List<Long> unknownBinIds;
+}
@@ -0,0 +1,26 @@
+package com.kosovo.wastemanagement.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BinReadingRequest {
+    @NotNull
+    private Long binId;
+
+    @NotNull
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private Double fillLevel;
+
+    // Defaults to the time the reading was received
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,35 @@
+package com.kosovo.wastemanagement.dto;
+
+import com.kosovo.wastemanagement.model.Bin;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BinResponse {
+    private Long id;
+    private String name;
+    private Double latitude;
+    private Double longitude;
+    private String address;
+    private Bin.BinType type;
+    private Double fillLevel;
+    private Double distanceMeters;
+
+    public static BinResponse fromBin(Bin bin, Double distanceMeters) {
+        return BinResponse.builder()
+                .id(bin.getId())
+                .name(bin.getName())
+                .latitude(bin.getLatitude())
+                .longitude(bin.getLongitude())
+                .address(bin.getAddress())
+                .type(bin.getType())
+                .fillLevel(bin.getFillLevel())
+                .distanceMeters(distanceMeters)
+                .build();
+    }
+}
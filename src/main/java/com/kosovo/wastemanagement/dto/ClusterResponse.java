@@ -0,0 +1,18 @@
+package com.kosovo.wastemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterResponse {
+    private Integer count;
+    private Double latitude;
+    private Double longitude;
+    // Set only when the cluster holds a single bin or report
+    private Long id;
+}
@@ -0,0 +1,22 @@
+package com.kosovo.wastemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private Integer size;
+    private Boolean hasNext;
+    // Opaque token to pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+    // Only populated when the caller asks for it
+    private Long totalElements;
+}
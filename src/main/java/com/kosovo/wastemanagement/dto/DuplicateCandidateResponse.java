@@ -0,0 +1,21 @@
+package com.kosovo.wastemanagement.dto;
+
+import com.kosovo.wastemanagement.model.Report;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidateResponse {
+    private Long reportId;
+    private String title;
+    private Report.ReportStatus status;
+    private Double distanceMeters;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.kosovo.wastemanagement.dto;
+
+import com.kosovo.wastemanagement.model.Report;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportEventResponse {
+    private Long reportId;
+    private String title;
+    private Report.ReportType type;
+    private Report.ReportStatus status;
+    // Only set on report-status-changed
+    private Report.ReportStatus previousStatus;
+    private Report.ReportPriority priority;
+    private Long areaId;
+    private Long assignedWorkerId;
+    // Only set on report-status-changed and report-assigned
+    private Long previousAssignedWorkerId;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime occurredAt;
+}
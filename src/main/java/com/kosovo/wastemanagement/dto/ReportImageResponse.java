@@ -1,5 +1,6 @@
 package com.kosovo.wastemanagement.dto;
 
+import com.kosovo.wastemanagement.model.ReportImage;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,9 +13,16 @@ import lombok.NoArgsConstructor;
 public class ReportImageResponse {
     private Long id;
     private String fileName;
-    private String filePath;
     private String contentType;
     private Long fileSize;
+    private Integer width;
+    private Integer height;
+    private ReportImage.ProcessingStatus processingStatus;
+    private Long thumbnailSize;
+    private Long webSize;
+    // Download endpoint; the thumbnail URL falls back to the original until variants are ready
+    private String url;
+    private String thumbnailUrl;
 }
 
 
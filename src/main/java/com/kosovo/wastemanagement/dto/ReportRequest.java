@@ -34,6 +34,10 @@ public class ReportRequest {
     private String address;
 
     private List<String> imageBase64Strings;
+
+    // Committed resumable uploads to attach as images
+    @Size(max = 10)
+    private List<String> uploadIds;
 }
 
 
@@ -31,6 +31,13 @@ public class ReportResponse {
     private LocalDateTime resolvedAt;
     private List<ReportImageResponse> images;
     private List<ReportCommentResponse> comments;
+    // Only set on location searches
+    private Double distanceMeters;
+    // Only set on text searches
+    private Double score;
+    private Long duplicateOfId;
+    // Only set when the report is created
+    private List<DuplicateCandidateResponse> duplicateCandidates;
 }
 
 
@@ -0,0 +1,24 @@
+package com.kosovo.wastemanagement.dto;
+
+import com.kosovo.wastemanagement.model.Report;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportStatsResponse {
+    private Long total;
+    private Map<Report.ReportStatus, Long> byStatus;
+    // Keyed by area id, "none" for reports outside every area
+    private Map<String, Map<Report.ReportStatus, Long>> byArea;
+    private Map<String, Map<Report.ReportStatus, Long>> byType;
+    private Map<String, Map<Report.ReportStatus, Long>> byPriority;
+    // Keyed by creation day (yyyy-MM-dd), current status of the reports filed that day
+    private Map<String, Map<Report.ReportStatus, Long>> byDay;
+}
@@ -0,0 +1,23 @@
+package com.kosovo.wastemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteResponse {
+    private Long workerId;
+    private String workerName;
+    private Long areaId;
+    private String areaName;
+    private Double startLatitude;
+    private Double startLongitude;
+    private Double totalDistanceMeters;
+    private List<RouteStopResponse> stops;
+}
@@ -0,0 +1,25 @@
+package com.kosovo.wastemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteStopResponse {
+    private Integer sequence;
+    private StopType type;
+    private Long id;
+    private String label;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceFromPreviousMeters;
+
+    public enum StopType {
+        BIN,
+        REPORT
+    }
+}
@@ -0,0 +1,26 @@
+package com.kosovo.wastemanagement.dto;
+
+import com.kosovo.wastemanagement.model.Upload;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadResponse {
+    private String uploadId;
+    private String fileName;
+    private String contentType;
+    private Long size;
+    // Next byte the server expects; resume from here
+    private Long offset;
+    private Upload.UploadStatus status;
+    private String sha256;
+    private Long maxChunkSize;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,22 @@
+package com.kosovo.wastemanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class UploadStartRequest {
+    @NotBlank
+    @Size(max = 255)
+    private String fileName;
+
+    @NotBlank
+    @Size(max = 100)
+    private String contentType;
+
+    @NotNull
+    @Positive
+    private Long size;
+}
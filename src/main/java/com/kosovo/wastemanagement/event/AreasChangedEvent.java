@@ -0,0 +1,10 @@
+package com.kosovo.wastemanagement.event;
+
+import java.util.List;
+
+/**
+ * Published when areas are created, moved, deactivated or get a new boundary; after commit the
+ * area locator snapshot is rebuilt and the citizens of these areas are recomputed.
+ */
+public record AreasChangedEvent(List<Long> areaIds) {
+}
@@ -0,0 +1,9 @@
+package com.kosovo.wastemanagement.event;
+
+import com.kosovo.wastemanagement.model.Bin;
+
+/**
+ * Published when a bin is created or edited; after commit it is applied to the in-memory indexes.
+ */
+public record BinSavedEvent(Bin bin) {
+}
@@ -0,0 +1,18 @@
+package com.kosovo.wastemanagement.event;
+
+import com.kosovo.wastemanagement.model.Report;
+
+/**
+ * Published when a report changes worker without changing status; status changes carry their
+ * worker change in {@link ReportStatusChangedEvent}.
+ */
+public record ReportAssignedEvent(Long reportId, Report.ReportType type, Report.ReportPriority priority,
+                                  Long areaId, Long previousWorkerId, Long workerId, Report.ReportStatus status) {
+
+    public static ReportAssignedEvent of(Report report, Long previousWorkerId) {
+        return new ReportAssignedEvent(report.getId(), report.getType(), report.getPriority(),
+                report.getArea() != null ? report.getArea().getId() : null, previousWorkerId,
+                report.getAssignedWorker() != null ? report.getAssignedWorker().getId() : null,
+                report.getStatus());
+    }
+}
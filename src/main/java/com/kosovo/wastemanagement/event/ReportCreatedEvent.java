@@ -0,0 +1,20 @@
+package com.kosovo.wastemanagement.event;
+
+import com.kosovo.wastemanagement.model.Report;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a report is saved; listeners that keep in-memory state react after commit.
+ */
+public record ReportCreatedEvent(Long reportId, String title, Report.ReportType type, Report.ReportStatus status,
+                                 Report.ReportPriority priority, Long areaId, Long assignedWorkerId,
+                                 double latitude, double longitude, LocalDateTime createdAt) {
+
+    public static ReportCreatedEvent of(Report report) {
+        return new ReportCreatedEvent(report.getId(), report.getTitle(), report.getType(), report.getStatus(),
+                report.getPriority(), report.getArea() != null ? report.getArea().getId() : null,
+                report.getAssignedWorker() != null ? report.getAssignedWorker().getId() : null,
+                report.getLatitude(), report.getLongitude(), report.getCreatedAt());
+    }
+}
@@ -0,0 +1,9 @@
+package com.kosovo.wastemanagement.event;
+
+import java.util.List;
+
+/**
+ * Published once new report image originals are on disk; variants are generated after commit.
+ */
+public record ReportImagesStoredEvent(List<Long> imageIds) {
+}
@@ -0,0 +1,23 @@
+package com.kosovo.wastemanagement.event;
+
+import com.kosovo.wastemanagement.model.Report;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a report moves from one status to another.
+ */
+public record ReportStatusChangedEvent(Long reportId, Report.ReportType type, Report.ReportPriority priority,
+                                       Long areaId, Long previousAssignedWorkerId, Long assignedWorkerId,
+                                       Report.ReportStatus previousStatus, Report.ReportStatus status,
+                                       double latitude, double longitude, LocalDateTime createdAt) {
+
+    public static ReportStatusChangedEvent of(Report report, Report.ReportStatus previousStatus,
+                                              Long previousAssignedWorkerId) {
+        return new ReportStatusChangedEvent(report.getId(), report.getType(), report.getPriority(),
+                report.getArea() != null ? report.getArea().getId() : null, previousAssignedWorkerId,
+                report.getAssignedWorker() != null ? report.getAssignedWorker().getId() : null,
+                previousStatus, report.getStatus(), report.getLatitude(), report.getLongitude(),
+                report.getCreatedAt());
+    }
+}
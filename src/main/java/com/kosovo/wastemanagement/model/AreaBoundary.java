@@ -0,0 +1,40 @@
+package com.kosovo.wastemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Boundary polygon of an area, kept apart from {@link Area} so that loading or joining areas
+ * never reads the polygon blob. Only the area locator and membership code read it.
+ */
+@Entity
+@Table(name = "area_boundaries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AreaBoundary {
+    
+    @Id
+    @Column(name = "area_id")
+    private Long areaId;
+    
+    // Packed AreaPolygon, see AreaPolygon#toBytes
+    @Lob
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] polygon;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
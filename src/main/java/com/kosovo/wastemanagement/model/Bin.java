@@ -1,5 +1,6 @@
 package com.kosovo.wastemanagement.model;
 
+import com.kosovo.wastemanagement.util.Geohash;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -38,6 +39,16 @@ public class Bin {
     // Optional: user-estimated fill level [0,1]
     private Double fillLevel;
 
+    // Maintained from latitude/longitude on every write
+    @Column(length = 12)
+    private String geohash;
+
+    @PrePersist
+    @PreUpdate
+    protected void updateGeohash() {
+        geohash = Geohash.encode(latitude, longitude);
+    }
+
     public enum BinType {
         GENERAL,
         GLASS,
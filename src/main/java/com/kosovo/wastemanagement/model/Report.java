@@ -1,5 +1,6 @@
 package com.kosovo.wastemanagement.model;
 
+import com.kosovo.wastemanagement.util.Geohash;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -50,6 +51,10 @@ public class Report {
     @NotNull
     private Double longitude;
     
+    // Maintained from latitude/longitude on every write
+    @Column(length = 12)
+    private String geohash;
+    
     @Size(max = 200)
     private String address;
     
@@ -61,6 +66,11 @@ public class Report {
     @JoinColumn(name = "assigned_worker_id")
     private User assignedWorker;
     
+    // Set when the assignment engine picked the worker; the rebalancer leaves manual assignments alone
+    @Column(name = "auto_assigned", nullable = false)
+    @Builder.Default
+    private Boolean autoAssigned = false;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "area_id")
     private Area area;
@@ -74,6 +84,10 @@ public class Report {
     @Column(name = "resolved_at")
     private LocalDateTime resolvedAt;
     
+    // Closest open report of the same type that was filed nearby shortly before this one
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+    
     @OneToMany(mappedBy = "report", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ReportImage> images;
     
@@ -84,11 +98,13 @@ public class Report {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        geohash = Geohash.encode(latitude, longitude);
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        geohash = Geohash.encode(latitude, longitude);
     }
     
     public enum ReportType {
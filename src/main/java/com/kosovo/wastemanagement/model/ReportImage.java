@@ -27,11 +27,44 @@ public class ReportImage {
     @NotBlank
     private String filePath;
     
+    // SHA-256 of the content when stored content-addressed; holds a reference in stored_files
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
     @NotBlank
     private String contentType;
     
     private Long fileSize;
     
+    // Original dimensions, after applying EXIF orientation
+    private Integer width;
+    private Integer height;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status")
+    @Builder.Default
+    private ProcessingStatus processingStatus = ProcessingStatus.PENDING;
+    
+    // Failed attempts at generating variants; the sweeper retries with backoff until next_attempt_at
+    @Column(name = "processing_attempts", nullable = false)
+    @Builder.Default
+    private Integer processingAttempts = 0;
+    
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "thumbnail_path")
+    private String thumbnailPath;
+    
+    @Column(name = "thumbnail_size")
+    private Long thumbnailSize;
+    
+    @Column(name = "web_path")
+    private String webPath;
+    
+    @Column(name = "web_size")
+    private Long webSize;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "report_id", nullable = false)
     private Report report;
@@ -43,6 +76,12 @@ public class ReportImage {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
     }
+    
+    public enum ProcessingStatus {
+        PENDING,
+        READY,
+        FAILED
+    }
 }
 
 
@@ -0,0 +1,84 @@
+package com.kosovo.wastemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "uploads")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Upload {
+
+    // Random UUID, so upload ids cannot be guessed
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UploadStatus status;
+
+    // Chunks are appended here while OPEN
+    @Column(name = "temp_path", length = 500)
+    private String tempPath;
+
+    // Set on commit, when the file has moved into the content-addressed store
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // A chunk that read the row before the commit cannot write it back over the committed state
+    @Version
+    private Long version;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum UploadStatus {
+        OPEN,
+        COMMITTED,
+        // Attached to a report, which now owns the stored file reference
+        CONSUMED
+    }
+}
@@ -1,5 +1,6 @@
 package com.kosovo.wastemanagement.model;
 
+import com.kosovo.wastemanagement.util.Geohash;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -83,6 +84,10 @@ public class User implements UserDetails {
     private Double latitude;
     private Double longitude;
     
+    // Maintained from latitude/longitude on every write
+    @Column(length = 12)
+    private String geohash;
+    
     // Worker specific fields
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_area_id")
@@ -92,11 +97,17 @@ public class User implements UserDetails {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        updateGeohash();
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        updateGeohash();
+    }
+    
+    private void updateGeohash() {
+        geohash = latitude != null && longitude != null ? Geohash.encode(latitude, longitude) : null;
     }
     
     @Override
@@ -0,0 +1,16 @@
+package com.kosovo.wastemanagement.repository;
+
+import com.kosovo.wastemanagement.model.AreaBoundary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AreaBoundaryRepository extends JpaRepository<AreaBoundary, Long> {
+    
+    // Primary key scan only; the polygons are not read
+    @Query("SELECT b.areaId FROM AreaBoundary b")
+    List<Long> findAreaIds();
+}
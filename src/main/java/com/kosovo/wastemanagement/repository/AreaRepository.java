@@ -15,8 +15,13 @@ public interface AreaRepository extends JpaRepository<Area, Long> {
     
     List<Area> findByIsActiveTrue();
     
-    @Query("SELECT a FROM Area a WHERE a.name ILIKE %:searchTerm% OR a.neighborhood ILIKE %:searchTerm%")
-    List<Area> findByNameOrNeighborhoodContaining(@Param("searchTerm") String searchTerm);
+    // query is a boolean-mode FULLTEXT expression, see FullTextQuery
+    @Query(value = "SELECT * FROM areas WHERE MATCH(name, neighborhood, municipality) AGAINST (:query IN BOOLEAN MODE) " +
+                   "AND (:activeOnly = FALSE OR is_active = TRUE) " +
+                   "ORDER BY MATCH(name, neighborhood, municipality) AGAINST (:query IN BOOLEAN MODE) DESC, id " +
+                   "LIMIT :limit", nativeQuery = true)
+    List<Area> searchByText(@Param("query") String query, @Param("activeOnly") boolean activeOnly,
+                            @Param("limit") int limit);
 }
 
 
@@ -0,0 +1,22 @@
+package com.kosovo.wastemanagement.repository;
+
+import com.kosovo.wastemanagement.model.ReportImage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReportImageRepository extends JpaRepository<ReportImage, Long> {
+    
+    @Query("SELECT i FROM ReportImage i WHERE i.processingStatus = :status AND i.createdAt < :createdBefore " +
+           "AND (i.nextAttemptAt IS NULL OR i.nextAttemptAt <= :now) ORDER BY i.createdAt")
+    List<ReportImage> findDue(@Param("status") ReportImage.ProcessingStatus status,
+                              @Param("createdBefore") LocalDateTime createdBefore,
+                              @Param("now") LocalDateTime now,
+                              Pageable pageable);
+}
@@ -0,0 +1,7 @@
+package com.kosovo.wastemanagement.repository;
+
+/**
+ * Minimal report projection for spatial candidate scans.
+ */
+public record ReportPoint(Long id, Double latitude, Double longitude) {
+}
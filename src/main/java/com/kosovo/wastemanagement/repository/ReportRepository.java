@@ -9,10 +9,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ReportRepository extends JpaRepository<Report, Long> {
+public interface ReportRepository extends JpaRepository<Report, Long>, ReportRepositoryCustom {
     
     List<Report> findByReporterId(Long reporterId);
     
@@ -22,6 +24,20 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
     
     List<Report> findByAreaId(Long areaId);
     
+    // Read paths for ReportResponse: the to-one graph and the images are fetched in one query each
+    @Query("SELECT r FROM Report r JOIN FETCH r.reporter rep LEFT JOIN FETCH rep.assignedArea " +
+           "LEFT JOIN FETCH r.assignedWorker w LEFT JOIN FETCH w.assignedArea LEFT JOIN FETCH r.area " +
+           "WHERE r.id IN :ids")
+    List<Report> findWithAssociationsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT DISTINCT r FROM Report r LEFT JOIN FETCH r.images WHERE r.id IN :ids")
+    List<Report> findWithImagesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT r FROM Report r JOIN FETCH r.reporter rep LEFT JOIN FETCH rep.assignedArea " +
+           "LEFT JOIN FETCH r.assignedWorker w LEFT JOIN FETCH w.assignedArea LEFT JOIN FETCH r.area " +
+           "LEFT JOIN FETCH r.images WHERE r.id = :id")
+    Optional<Report> findDetailById(@Param("id") Long id);
+    
     @Query("SELECT r FROM Report r WHERE r.status = :status AND r.assignedWorker IS NULL")
     List<Report> findUnassignedReportsByStatus(@Param("status") Report.ReportStatus status);
     
@@ -38,12 +54,47 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
                                        @Param("priority") Report.ReportPriority priority,
                                        Pageable pageable);
     
+    @Query("SELECT r FROM Report r WHERE r.area.id IN :areaIds AND r.status IN :statuses AND r.type IN :types")
+    List<Report> findByAreaIdsAndStatusesAndTypes(@Param("areaIds") Collection<Long> areaIds,
+                                                  @Param("statuses") Collection<Report.ReportStatus> statuses,
+                                                  @Param("types") Collection<Report.ReportType> types);
+    
+    @Query("SELECT r.id AS id, r.latitude AS latitude, r.longitude AS longitude FROM Report r " +
+           "WHERE r.status IN :statuses")
+    List<ReportLocation> findLocationsByStatusIn(@Param("statuses") Collection<Report.ReportStatus> statuses);
+    
+    @Query("SELECT r.id AS id, r.type AS type, r.latitude AS latitude, r.longitude AS longitude, " +
+           "r.createdAt AS createdAt FROM Report r WHERE r.status IN :statuses AND r.createdAt > :since")
+    List<ReportSighting> findSightingsByStatusInAndCreatedAtAfter(@Param("statuses") Collection<Report.ReportStatus> statuses,
+                                                                  @Param("since") LocalDateTime since);
+    
+    @Query("SELECT r.assignedWorker.id AS workerId, COUNT(r) AS openReports FROM Report r " +
+           "WHERE r.assignedWorker IS NOT NULL AND r.status IN :statuses GROUP BY r.assignedWorker.id")
+    List<WorkerLoad> countByAssignedWorker(@Param("statuses") Collection<Report.ReportStatus> statuses);
+    
+    List<Report> findTop10ByAssignedWorkerIdAndStatusAndAutoAssignedTrueOrderByCreatedAtDesc(Long workerId,
+                                                                                          Report.ReportStatus status);
+    
     @Query("SELECT COUNT(r) FROM Report r WHERE r.status = :status")
     Long countByStatus(@Param("status") Report.ReportStatus status);
+
     
-    @Query("SELECT r FROM Report r WHERE " +
-           "sqrt(power(r.longitude - :longitude, 2) + power(r.latitude - :latitude, 2)) * 111 <= :radiusInKm")
-    List<Report> findReportsNearLocation(@Param("latitude") Double latitude,
-                                        @Param("longitude") Double longitude,
-                                        @Param("radiusInKm") Double radiusInKm);
+    interface ReportLocation {
+        Long getId();
+        Double getLatitude();
+        Double getLongitude();
+    }
+
+    interface WorkerLoad {
+        Long getWorkerId();
+        Long getOpenReports();
+    }
+
+    interface ReportSighting {
+        Long getId();
+        Report.ReportType getType();
+        Double getLatitude();
+        Double getLongitude();
+        LocalDateTime getCreatedAt();
+    }
 }
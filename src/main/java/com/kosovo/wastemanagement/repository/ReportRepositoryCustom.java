@@ -0,0 +1,32 @@
+package com.kosovo.wastemanagement.repository;
+
+import com.kosovo.wastemanagement.model.Report;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReportRepositoryCustom {
+
+    /**
+     * Keyset page ordered by (createdAt, id) descending. Returns up to {@code limit} reports strictly
+     * after the given position; pass nulls for the first page.
+     */
+    List<Report> findReportsAfter(Report.ReportStatus status, Long areaId, Report.ReportPriority priority,
+                                  LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    long countReportsWithFilters(Report.ReportStatus status, Long areaId, Report.ReportPriority priority);
+
+    /**
+     * Reports inside a latitude/longitude box, optionally filtered. The box is turned into geohash
+     * ranges so it is served from idx_reports_geohash without touching the table rows.
+     */
+    List<ReportPoint> findPointsInBox(double minLat, double maxLat, double minLon, double maxLon,
+                                      Report.ReportStatus status, Report.ReportType type);
+
+    /**
+     * Reports matching a boolean-mode query on ft_reports_text, most relevant first. Only ids and
+     * scores are read so callers can hydrate just the page they return.
+     */
+    List<ReportSearchHit> searchReports(String booleanQuery, Report.ReportStatus status, Long areaId,
+                                        long offset, int limit);
+}
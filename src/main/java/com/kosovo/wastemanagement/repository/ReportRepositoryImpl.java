@@ -0,0 +1,134 @@
+package com.kosovo.wastemanagement.repository;
+
+import com.kosovo.wastemanagement.model.Report;
+import com.kosovo.wastemanagement.util.Geohash;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the filter predicates dynamically so that only the filters actually supplied end up
+ * in the SQL, letting MySQL pick the idx_reports_*_created index whose prefix matches the
+ * supplied filters for the keyset range scan.
+ */
+public class ReportRepositoryImpl implements ReportRepositoryCustom {
+
+    // Upper bound on geohash cells per box; adjacent cells are merged into a single range
+    private static final int MAX_GEOHASH_CELLS = 16;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Report> findReportsAfter(Report.ReportStatus status, Long areaId, Report.ReportPriority priority,
+                                         LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT r FROM Report r WHERE 1 = 1");
+        appendFilters(jpql, params, status, areaId, priority);
+        if (afterCreatedAt != null && afterId != null) {
+            jpql.append(" AND (r.createdAt < :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id < :afterId))");
+            params.put("afterCreatedAt", afterCreatedAt);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY r.createdAt DESC, r.id DESC");
+
+        TypedQuery<Report> query = entityManager.createQuery(jpql.toString(), Report.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countReportsWithFilters(Report.ReportStatus status, Long areaId, Report.ReportPriority priority) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(r) FROM Report r WHERE 1 = 1");
+        appendFilters(jpql, params, status, areaId, priority);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public List<ReportPoint> findPointsInBox(double minLat, double maxLat, double minLon, double maxLon,
+                                             Report.ReportStatus status, Report.ReportType type) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.kosovo.wastemanagement.repository.ReportPoint(r.id, r.latitude, r.longitude) " +
+                "FROM Report r WHERE (");
+        List<Geohash.Range> ranges = Geohash.coveringRanges(minLat, minLon, maxLat, maxLon, MAX_GEOHASH_CELLS);
+        for (int i = 0; i < ranges.size(); i++) {
+            if (i > 0) {
+                jpql.append(" OR ");
+            }
+            jpql.append("(r.geohash >= :from").append(i).append(" AND r.geohash < :to").append(i).append(")");
+            params.put("from" + i, ranges.get(i).from());
+            params.put("to" + i, ranges.get(i).to());
+        }
+        jpql.append(") AND r.latitude BETWEEN :minLat AND :maxLat AND r.longitude BETWEEN :minLon AND :maxLon");
+        params.put("minLat", minLat);
+        params.put("maxLat", maxLat);
+        params.put("minLon", minLon);
+        params.put("maxLon", maxLon);
+        if (status != null) {
+            jpql.append(" AND r.status = :status");
+            params.put("status", status);
+        }
+        if (type != null) {
+            jpql.append(" AND r.type = :type");
+            params.put("type", type);
+        }
+
+        TypedQuery<ReportPoint> query = entityManager.createQuery(jpql.toString(), ReportPoint.class);
+        params.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ReportSearchHit> searchReports(String booleanQuery, Report.ReportStatus status, Long areaId,
+                                               long offset, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder sql = new StringBuilder(
+                "SELECT r.id, MATCH(r.title, r.description, r.address) AGAINST (:query IN BOOLEAN MODE) AS score " +
+                "FROM reports r WHERE MATCH(r.title, r.description, r.address) AGAINST (:query IN BOOLEAN MODE)");
+        params.put("query", booleanQuery);
+        if (status != null) {
+            sql.append(" AND r.status = :status");
+            params.put("status", status.name());
+        }
+        if (areaId != null) {
+            sql.append(" AND r.area_id = :areaId");
+            params.put("areaId", areaId);
+        }
+        sql.append(" ORDER BY score DESC, r.id DESC");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        List<Object[]> rows = query.setFirstResult((int) offset).setMaxResults(limit).getResultList();
+        return rows.stream()
+                .map(row -> new ReportSearchHit(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue()))
+                .toList();
+    }
+
+    private static void appendFilters(StringBuilder jpql, Map<String, Object> params,
+                                      Report.ReportStatus status, Long areaId, Report.ReportPriority priority) {
+        if (status != null) {
+            jpql.append(" AND r.status = :status");
+            params.put("status", status);
+        }
+        if (areaId != null) {
+            jpql.append(" AND r.area.id = :areaId");
+            params.put("areaId", areaId);
+        }
+        if (priority != null) {
+            jpql.append(" AND r.priority = :priority");
+            params.put("priority", priority);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.kosovo.wastemanagement.repository;
+
+/**
+ * A report id with its full-text relevance score.
+ */
+public record ReportSearchHit(Long id, double score) {
+}
@@ -0,0 +1,14 @@
+package com.kosovo.wastemanagement.repository;
+
+import com.kosovo.wastemanagement.model.Upload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UploadRepository extends JpaRepository<Upload, String> {
+    
+    List<Upload> findTop500ByExpiresAtBefore(LocalDateTime now);
+}
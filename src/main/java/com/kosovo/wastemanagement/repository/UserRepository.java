@@ -28,15 +28,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.role = 'WORKER' AND u.isActive = true")
     List<User> findActiveWorkers();
     
+    @Query("SELECT u FROM User u JOIN FETCH u.assignedArea WHERE u.role = 'WORKER' AND u.isActive = true")
+    List<User> findActiveWorkersWithArea();
+    
     @Query("SELECT u FROM User u WHERE u.role = 'CITIZEN' AND u.emailVerified = true AND u.isActive = true")
     List<User> findActiveVerifiedCitizens();
     
-    @Query("SELECT u FROM User u, Area a WHERE u.role = 'CITIZEN' AND u.emailVerified = true AND u.isActive = true " +
-           "AND a.id = :areaId AND u.latitude IS NOT NULL AND u.longitude IS NOT NULL " +
-           "AND (6371 * acos(cos(radians(a.centerLatitude)) * cos(radians(u.latitude)) * " +
-           "cos(radians(u.longitude) - radians(a.centerLongitude)) + " +
-           "sin(radians(a.centerLatitude)) * sin(radians(u.latitude)))) <= 5")
+    @Query(value = "SELECT u.* FROM users u JOIN user_area ua ON ua.user_id = u.id " +
+           "WHERE ua.area_id = :areaId AND u.role = 'CITIZEN' AND u.email_verified = true AND u.is_active = true",
+           nativeQuery = true)
     List<User> findActiveVerifiedCitizensByArea(@Param("areaId") Long areaId);
+    
+    @Query("SELECT u.id AS id, u.latitude AS latitude, u.longitude AS longitude FROM User u " +
+           "WHERE u.role = 'CITIZEN' AND u.geohash >= :from AND u.geohash < :to")
+    List<UserLocation> findCitizenLocationsInGeohashRange(@Param("from") String from, @Param("to") String to);
+    
+    @Query("SELECT u.id AS id, u.latitude AS latitude, u.longitude AS longitude FROM User u " +
+           "WHERE u.role = 'CITIZEN' AND u.latitude IS NOT NULL AND u.longitude IS NOT NULL")
+    List<UserLocation> findCitizenLocations();
+    
+    interface UserLocation {
+        Long getId();
+        Double getLatitude();
+        Double getLongitude();
+    }
 }
 
 
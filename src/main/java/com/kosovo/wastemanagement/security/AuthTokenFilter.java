@@ -23,16 +23,19 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private StreamTicketService streamTicketService;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    private static final String EVENT_STREAM_PATH = "/api/reports/stream";
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
+            String username = resolveUsername(request);
+            if (username != null) {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -47,6 +50,23 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private String resolveUsername(HttpServletRequest request) {
+        String jwt = parseJwt(request);
+        if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
+            return jwtUtils.getUserNameFromJwtToken(jwt);
+        }
+
+        // EventSource cannot send headers, so the event stream accepts a single-use ticket instead
+        if (request.getRequestURI().endsWith(EVENT_STREAM_PATH)) {
+            String ticket = request.getParameter("ticket");
+            if (StringUtils.hasText(ticket)) {
+                return streamTicketService.redeem(ticket).orElse(null);
+            }
+        }
+
+        return null;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -0,0 +1,53 @@
+package com.kosovo.wastemanagement.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived, single-use tickets for the report event stream. EventSource cannot send an
+ * Authorization header, so the ticket travels in the URL instead of the JWT: once redeemed it
+ * is worthless to anything that logged it.
+ */
+@Component
+public class StreamTicketService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    @Value("${app.events.ticket-ttl-ms:30000}")
+    private long ttlMs;
+
+    public String issue(String username) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(username, System.currentTimeMillis() + ttlMs));
+        return ticket;
+    }
+
+    public Optional<String> redeem(String ticket) {
+        Ticket redeemed = tickets.remove(ticket);
+        if (redeemed == null || redeemed.expiresAt() < System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        return Optional.of(redeemed.username());
+    }
+
+    // Tickets that were issued but never used
+    @Scheduled(fixedDelayString = "${app.events.ticket-ttl-ms:30000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> ticket.expiresAt() < now);
+    }
+
+    private record Ticket(String username, long expiresAt) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.model.Area;
+import com.kosovo.wastemanagement.model.AreaBoundary;
+import com.kosovo.wastemanagement.repository.AreaBoundaryRepository;
+import com.kosovo.wastemanagement.repository.AreaRepository;
+import com.kosovo.wastemanagement.util.AreaPolygon;
+import com.kosovo.wastemanagement.util.GeoUtils;
+import com.kosovo.wastemanagement.util.RTree;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves a point to its area without touching the database. Active areas with a boundary go
+ * into an R-tree over their bounding boxes; areas that only have a centre are matched within
+ * {@link #CENTRE_RADIUS_METERS}. The whole snapshot is swapped atomically on {@link #rebuild()}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AreaLocator {
+
+    static final double CENTRE_RADIUS_METERS = 5000;
+
+    private final AreaRepository areaRepository;
+    private final AreaBoundaryRepository areaBoundaryRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(RTree.build(List.of()), List.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        List<RTree.Entry<Boundary>> entries = new ArrayList<>();
+        List<Centre> centres = new ArrayList<>();
+        Map<Long, byte[]> polygons = areaBoundaryRepository.findAll().stream()
+                .collect(Collectors.toMap(AreaBoundary::getAreaId, AreaBoundary::getPolygon));
+        for (Area area : areaRepository.findByIsActiveTrue()) {
+            byte[] packed = polygons.get(area.getId());
+            if (packed != null) {
+                AreaPolygon polygon = AreaPolygon.fromBytes(packed);
+                entries.add(new RTree.Entry<>(polygon.minLatitude(), polygon.minLongitude(),
+                        polygon.maxLatitude(), polygon.maxLongitude(), new Boundary(area.getId(), polygon)));
+            } else if (area.getCenterLatitude() != null && area.getCenterLongitude() != null) {
+                centres.add(new Centre(area.getId(), area.getCenterLatitude(), area.getCenterLongitude()));
+            }
+        }
+        snapshot = new Snapshot(RTree.build(entries), List.copyOf(centres));
+        log.info("Area locator loaded with {} boundaries and {} centre-only areas", entries.size(), centres.size());
+    }
+
+    /**
+     * Id of the area containing the point. Nested boundaries resolve to the smallest one;
+     * otherwise the closest centre-only area within range is used.
+     */
+    public Optional<Long> locate(double latitude, double longitude) {
+        Snapshot current = snapshot;
+        Boundary match = null;
+        double matchSize = Double.MAX_VALUE;
+        for (Boundary boundary : current.boundaries().search(latitude, longitude)) {
+            AreaPolygon polygon = boundary.polygon();
+            double size = (polygon.maxLatitude() - polygon.minLatitude()) * (polygon.maxLongitude() - polygon.minLongitude());
+            if (size < matchSize && polygon.contains(latitude, longitude)) {
+                match = boundary;
+                matchSize = size;
+            }
+        }
+        if (match != null) {
+            return Optional.of(match.areaId());
+        }
+
+        Long nearest = null;
+        double nearestDistance = CENTRE_RADIUS_METERS;
+        for (Centre centre : current.centres()) {
+            double d = GeoUtils.distanceMeters(latitude, longitude, centre.latitude(), centre.longitude());
+            if (d <= nearestDistance) {
+                nearest = centre.areaId();
+                nearestDistance = d;
+            }
+        }
+        return Optional.ofNullable(nearest);
+    }
+
+    /**
+     * Ids of every area the point belongs to: all boundaries containing it plus all centre-only
+     * areas within range.
+     */
+    public List<Long> locateAll(double latitude, double longitude) {
+        Snapshot current = snapshot;
+        List<Long> areaIds = new ArrayList<>();
+        for (Boundary boundary : current.boundaries().search(latitude, longitude)) {
+            if (boundary.polygon().contains(latitude, longitude)) {
+                areaIds.add(boundary.areaId());
+            }
+        }
+        for (Centre centre : current.centres()) {
+            if (GeoUtils.distanceMeters(latitude, longitude, centre.latitude(), centre.longitude()) <= CENTRE_RADIUS_METERS) {
+                areaIds.add(centre.areaId());
+            }
+        }
+        return areaIds;
+    }
+
+    private record Boundary(Long areaId, AreaPolygon polygon) {
+    }
+
+    private record Centre(Long areaId, double latitude, double longitude) {
+    }
+
+    private record Snapshot(RTree<Boundary> boundaries, List<Centre> centres) {
+    }
+}
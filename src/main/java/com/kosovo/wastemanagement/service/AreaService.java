@@ -1,14 +1,31 @@
 package com.kosovo.wastemanagement.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kosovo.wastemanagement.dto.AreaBoundaryImportResponse;
 import com.kosovo.wastemanagement.dto.AreaResponse;
+import com.kosovo.wastemanagement.event.AreasChangedEvent;
 import com.kosovo.wastemanagement.model.Area;
+import com.kosovo.wastemanagement.model.AreaBoundary;
+import com.kosovo.wastemanagement.repository.AreaBoundaryRepository;
 import com.kosovo.wastemanagement.repository.AreaRepository;
+import com.kosovo.wastemanagement.util.AreaPolygon;
+import com.kosovo.wastemanagement.util.FullTextQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,11 +35,32 @@ import java.util.stream.Collectors;
 public class AreaService {
 
     private final AreaRepository areaRepository;
+    private final AreaBoundaryRepository areaBoundaryRepository;
+    private final AreaLocator areaLocator;
+    private final CitizenAreaService citizenAreaService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<AreaResponse> getAllAreas() {
         List<Area> areas = areaRepository.findByIsActiveTrue();
+        Set<Long> withBoundary = new HashSet<>(areaBoundaryRepository.findAreaIds());
         return areas.stream()
-                .map(this::mapToAreaResponse)
+                .map(area -> mapToAreaResponse(area, withBoundary.contains(area.getId())))
+                .collect(Collectors.toList());
+    }
+
+    // Prefix match on name, neighborhood and municipality, most relevant first
+    public List<AreaResponse> searchAreas(String text, boolean activeOnly, int limit) {
+        String query = FullTextQuery.toBooleanMode(text);
+        if (query == null) {
+            return List.of();
+        }
+        List<Area> areas = areaRepository.searchByText(query, activeOnly, limit);
+        if (areas.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> withBoundary = new HashSet<>(areaBoundaryRepository.findAreaIds());
+        return areas.stream()
+                .map(area -> mapToAreaResponse(area, withBoundary.contains(area.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -35,6 +73,7 @@ public class AreaService {
     public AreaResponse createArea(Area area) {
         area.setIsActive(true);
         Area savedArea = areaRepository.save(area);
+        eventPublisher.publishEvent(new AreasChangedEvent(List.of(savedArea.getId())));
         return mapToAreaResponse(savedArea);
     }
 
@@ -46,22 +85,147 @@ public class AreaService {
         area.setDescription(areaDetails.getDescription());
         area.setMunicipality(areaDetails.getMunicipality());
         area.setNeighborhood(areaDetails.getNeighborhood());
+        boolean centreChanged = !Objects.equals(area.getCenterLatitude(), areaDetails.getCenterLatitude())
+                || !Objects.equals(area.getCenterLongitude(), areaDetails.getCenterLongitude());
         area.setCenterLatitude(areaDetails.getCenterLatitude());
         area.setCenterLongitude(areaDetails.getCenterLongitude());
 
         Area updatedArea = areaRepository.save(area);
+        // The centre only locates areas without a boundary
+        if (centreChanged && !areaBoundaryRepository.existsById(id)) {
+            eventPublisher.publishEvent(new AreasChangedEvent(List.of(updatedArea.getId())));
+        }
+        return mapToAreaResponse(updatedArea);
+    }
+
+    /**
+     * Sets an area's boundary from a GeoJSON Polygon, MultiPolygon or Feature wrapping one.
+     */
+    public AreaResponse updateBoundary(Long id, JsonNode geoJson) {
+        Area area = areaRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Area not found"));
+        AreaBoundary boundary = applyBoundary(area, parseBoundary(geoJson));
+        areaBoundaryRepository.save(boundary);
+        Area updatedArea = areaRepository.save(area);
+        eventPublisher.publishEvent(new AreasChangedEvent(List.of(updatedArea.getId())));
         return mapToAreaResponse(updatedArea);
     }
 
+    /**
+     * Imports boundaries from a GeoJSON FeatureCollection. Each feature is matched to an area by
+     * its {@code areaId} property, falling back to a case-insensitive {@code name} match.
+     */
+    public AreaBoundaryImportResponse importBoundaries(JsonNode featureCollection) {
+        JsonNode features = featureCollection.path("features");
+        if (!features.isArray()) {
+            throw new RuntimeException("Expected a GeoJSON FeatureCollection");
+        }
+        List<Area> areas = areaRepository.findAll();
+        Map<Long, Area> byId = areas.stream().collect(Collectors.toMap(Area::getId, a -> a));
+        Map<String, Area> byName = new HashMap<>();
+        areas.forEach(a -> byName.putIfAbsent(a.getName().toLowerCase(Locale.ROOT), a));
+
+        List<Area> updated = new ArrayList<>();
+        List<AreaBoundary> boundaries = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        for (int i = 0; i < features.size(); i++) {
+            JsonNode properties = features.get(i).path("properties");
+            Area area = properties.hasNonNull("areaId")
+                    ? byId.get(properties.get("areaId").asLong())
+                    : byName.get(properties.path("name").asText("").toLowerCase(Locale.ROOT));
+            if (area == null) {
+                skipped.add("Feature " + i + ": no matching area");
+                continue;
+            }
+            try {
+                boundaries.add(applyBoundary(area, parseBoundary(features.get(i))));
+                updated.add(area);
+            } catch (RuntimeException e) {
+                skipped.add("Feature " + i + ": " + e.getMessage());
+            }
+        }
+        areaBoundaryRepository.saveAll(boundaries);
+        areaRepository.saveAll(updated);
+        eventPublisher.publishEvent(new AreasChangedEvent(updated.stream().map(Area::getId).collect(Collectors.toList())));
+        log.info("Imported {} area boundaries, skipped {}", updated.size(), skipped.size());
+        return AreaBoundaryImportResponse.builder()
+                .updated(updated.size())
+                .skipped(skipped)
+                .build();
+    }
+
     public void deleteArea(Long id) {
         Area area = areaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Area not found"));
         
         area.setIsActive(false);
         areaRepository.save(area);
+        eventPublisher.publishEvent(new AreasChangedEvent(List.of(area.getId())));
+    }
+
+    // Rebuilt from committed rows only, so a rolled-back edit never reaches the snapshot; the rebuild
+    // reads in its own transaction, and rebuilds are serialised, so the last one sees every commit.
+    // Citizen membership is recomputed afterwards, against the new snapshot.
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAreasChanged(AreasChangedEvent event) {
+        areaLocator.rebuild();
+        areaRepository.findAllById(event.areaIds()).forEach(citizenAreaService::updateArea);
+    }
+
+    private static AreaBoundary applyBoundary(Area area, AreaPolygon polygon) {
+        if (area.getCenterLatitude() == null || area.getCenterLongitude() == null) {
+            area.setCenterLatitude((polygon.minLatitude() + polygon.maxLatitude()) / 2);
+            area.setCenterLongitude((polygon.minLongitude() + polygon.maxLongitude()) / 2);
+        }
+        return AreaBoundary.builder()
+                .areaId(area.getId())
+                .polygon(polygon.toBytes())
+                .build();
+    }
+
+    private static AreaPolygon parseBoundary(JsonNode geoJson) {
+        JsonNode geometry = "Feature".equals(geoJson.path("type").asText()) ? geoJson.path("geometry") : geoJson;
+        String type = geometry.path("type").asText();
+        JsonNode coordinates = geometry.path("coordinates");
+        List<double[]> rings = new ArrayList<>();
+        if ("Polygon".equals(type)) {
+            addRings(coordinates, rings);
+        } else if ("MultiPolygon".equals(type)) {
+            for (JsonNode polygon : coordinates) {
+                addRings(polygon, rings);
+            }
+        } else {
+            throw new RuntimeException("Unsupported geometry type: " + type);
+        }
+        try {
+            return new AreaPolygon(rings);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid boundary: " + e.getMessage());
+        }
+    }
+
+    private static void addRings(JsonNode polygon, List<double[]> rings) {
+        for (JsonNode ring : polygon) {
+            double[] coordinates = new double[ring.size() * 2];
+            for (int i = 0; i < ring.size(); i++) {
+                double longitude = ring.get(i).path(0).asDouble(Double.NaN);
+                double latitude = ring.get(i).path(1).asDouble(Double.NaN);
+                if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+                    throw new RuntimeException("Invalid boundary position: " + ring.get(i));
+                }
+                coordinates[2 * i] = longitude;
+                coordinates[2 * i + 1] = latitude;
+            }
+            rings.add(coordinates);
+        }
     }
 
     private AreaResponse mapToAreaResponse(Area area) {
+        return mapToAreaResponse(area, areaBoundaryRepository.existsById(area.getId()));
+    }
+
+    private AreaResponse mapToAreaResponse(Area area, boolean hasBoundary) {
         return AreaResponse.builder()
                 .id(area.getId())
                 .name(area.getName())
@@ -70,6 +234,7 @@ public class AreaService {
                 .neighborhood(area.getNeighborhood())
                 .centerLatitude(area.getCenterLatitude())
                 .centerLongitude(area.getCenterLongitude())
+                .hasBoundary(hasBoundary)
                 .build();
     }
 }
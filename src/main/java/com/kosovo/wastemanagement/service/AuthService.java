@@ -33,6 +33,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final EmailVerificationService emailVerificationService;
+    private final CitizenAreaService citizenAreaService;
 
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -83,6 +84,7 @@ public class AuthService {
         }
 
         user = userRepository.save(user);
+        citizenAreaService.updateUser(user);
         
         // Create and send verification email
         emailVerificationService.createVerificationToken(user);
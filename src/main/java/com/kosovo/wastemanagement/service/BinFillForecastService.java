@@ -0,0 +1,162 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.dto.BinForecastResponse;
+import com.kosovo.wastemanagement.model.Bin;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-bin fill-rate model kept in parallel primitive arrays. Each reading updates an
+ * exponentially weighted fill slope in O(1); a forecast is a single pass over the arrays.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BinFillForecastService {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double SECONDS_PER_HOUR = 3600.0;
+    // A drop larger than this between readings is treated as the bin being emptied
+    private static final double EMPTIED_DROP = 0.2;
+
+    private final BinSpatialIndex binSpatialIndex;
+
+    @Value("${app.forecast.smoothing:0.3}")
+    private double alpha;
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private long[] binIds = new long[INITIAL_CAPACITY];
+    private double[] lastLevel = new double[INITIAL_CAPACITY];
+    private long[] lastSeconds = new long[INITIAL_CAPACITY];
+    private double[] ratePerHour = new double[INITIAL_CAPACITY];
+    private boolean[] hasRate = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    // Runs after BinSpatialIndex has loaded
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seedFromIndex() {
+        long now = toSeconds(LocalDateTime.now());
+        for (Bin bin : binSpatialIndex.all()) {
+            if (bin.getFillLevel() != null && !slots.containsKey(bin.getId())) {
+                int slot = slotFor(bin.getId());
+                lastLevel[slot] = bin.getFillLevel();
+                lastSeconds[slot] = now;
+            }
+        }
+        log.info("Fill forecast model seeded with {} bins", size);
+    }
+
+    public synchronized void update(Long binId, double fillLevel, LocalDateTime timestamp) {
+        long seconds = toSeconds(timestamp);
+        Integer existing = slots.get(binId);
+        if (existing == null) {
+            int slot = slotFor(binId);
+            lastLevel[slot] = fillLevel;
+            lastSeconds[slot] = seconds;
+            return;
+        }
+        int slot = existing;
+        long dt = seconds - lastSeconds[slot];
+        if (dt <= 0) {
+            return;
+        }
+        double delta = fillLevel - lastLevel[slot];
+        if (delta > -EMPTIED_DROP) {
+            double slope = Math.max(0.0, delta) / (dt / SECONDS_PER_HOUR);
+            ratePerHour[slot] = hasRate[slot] ? alpha * slope + (1 - alpha) * ratePerHour[slot] : slope;
+            hasRate[slot] = true;
+        }
+        lastLevel[slot] = fillLevel;
+        lastSeconds[slot] = seconds;
+    }
+
+    public List<BinForecastResponse> forecast(double hours, double threshold) {
+        long now = toSeconds(LocalDateTime.now());
+        int[] matches;
+        int matched = 0;
+        double[] predicted;
+        double[] untilThreshold;
+        long[] ids;
+        double[] current;
+        double[] rates;
+        int count;
+        synchronized (this) {
+            count = size;
+            predicted = new double[count];
+            untilThreshold = new double[count];
+            ids = Arrays.copyOf(binIds, count);
+            current = Arrays.copyOf(lastLevel, count);
+            rates = Arrays.copyOf(ratePerHour, count);
+            matches = new int[count];
+            for (int i = 0; i < count; i++) {
+                double elapsedHours = (now - lastSeconds[i]) / SECONDS_PER_HOUR;
+                double estimateNow = Math.min(1.0, lastLevel[i] + ratePerHour[i] * elapsedHours);
+                predicted[i] = Math.min(1.0, estimateNow + ratePerHour[i] * hours);
+                untilThreshold[i] = estimateNow >= threshold ? 0.0
+                        : ratePerHour[i] > 0 ? (threshold - estimateNow) / ratePerHour[i] : Double.POSITIVE_INFINITY;
+                if (predicted[i] >= threshold) {
+                    matches[matched++] = i;
+                }
+            }
+        }
+
+        List<BinForecastResponse> result = new ArrayList<>(matched);
+        for (int m = 0; m < matched; m++) {
+            int i = matches[m];
+            Optional<Bin> bin = binSpatialIndex.get(ids[i]);
+            if (bin.isEmpty()) {
+                continue;
+            }
+            result.add(BinForecastResponse.builder()
+                    .binId(ids[i])
+                    .name(bin.get().getName())
+                    .latitude(bin.get().getLatitude())
+                    .longitude(bin.get().getLongitude())
+                    .type(bin.get().getType())
+                    .currentFill(current[i])
+                    .predictedFill(predicted[i])
+                    .fillRatePerHour(rates[i])
+                    .hoursUntilThreshold(untilThreshold[i])
+                    .build());
+        }
+        result.sort(Comparator.comparingDouble(BinForecastResponse::getHoursUntilThreshold));
+        return result;
+    }
+
+    private int slotFor(Long binId) {
+        Integer slot = slots.get(binId);
+        if (slot != null) {
+            return slot;
+        }
+        if (size == binIds.length) {
+            int capacity = size * 2;
+            binIds = Arrays.copyOf(binIds, capacity);
+            lastLevel = Arrays.copyOf(lastLevel, capacity);
+            lastSeconds = Arrays.copyOf(lastSeconds, capacity);
+            ratePerHour = Arrays.copyOf(ratePerHour, capacity);
+            hasRate = Arrays.copyOf(hasRate, capacity);
+        }
+        int newSlot = size++;
+        binIds[newSlot] = binId;
+        slots.put(binId, newSlot);
+        return newSlot;
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
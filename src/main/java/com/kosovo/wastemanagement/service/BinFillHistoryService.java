@@ -0,0 +1,231 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.dto.BinFillPointResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Append-only fill history. Raw readings are kept for a short window; hourly and daily
+ * min/max/avg rollups are accumulated in memory and merged into bin_fill_rollups on flush,
+ * so curve queries read one row per bucket instead of scanning raw readings.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BinFillHistoryService {
+
+    private static final String INSERT_READING_SQL =
+            "INSERT INTO bin_fill_readings (bin_id, fill_level, recorded_at) VALUES (?, ?, ?)";
+
+    private static final String UPSERT_ROLLUP_SQL =
+            "INSERT INTO bin_fill_rollups (bin_id, resolution, bucket_start, min_fill, max_fill, sum_fill, sample_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "min_fill = LEAST(min_fill, VALUES(min_fill)), " +
+            "max_fill = GREATEST(max_fill, VALUES(max_fill)), " +
+            "sum_fill = sum_fill + VALUES(sum_fill), " +
+            "sample_count = sample_count + VALUES(sample_count)";
+
+    private static final String BIN_CURVE_SQL =
+            "SELECT bucket_start, min_fill, max_fill, sum_fill, sample_count FROM bin_fill_rollups " +
+            "WHERE bin_id = :binId AND resolution = :resolution AND bucket_start >= :from AND bucket_start < :to " +
+            "ORDER BY bucket_start";
+
+    private static final String AREA_CURVE_SQL =
+            "SELECT bucket_start, MIN(min_fill) AS min_fill, MAX(max_fill) AS max_fill, " +
+            "SUM(sum_fill) AS sum_fill, SUM(sample_count) AS sample_count FROM bin_fill_rollups " +
+            "WHERE bin_id IN (:binIds) AND resolution = :resolution AND bucket_start >= :from AND bucket_start < :to " +
+            "GROUP BY bucket_start ORDER BY bucket_start";
+
+    private static final RowMapper<BinFillPointResponse> POINT_MAPPER = (rs, rowNum) -> {
+        long count = rs.getLong("sample_count");
+        return BinFillPointResponse.builder()
+                .bucketStart(rs.getTimestamp("bucket_start").toLocalDateTime())
+                .minFill(rs.getDouble("min_fill"))
+                .maxFill(rs.getDouble("max_fill"))
+                .avgFill(count > 0 ? rs.getDouble("sum_fill") / count : null)
+                .sampleCount(count)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.telemetry.raw-retention-days:7}")
+    private int rawRetentionDays;
+
+    @Value("${app.telemetry.hourly-retention-days:90}")
+    private int hourlyRetentionDays;
+
+    @Value("${app.telemetry.max-buffered-readings:100000}")
+    private int maxBufferedReadings;
+
+    private final Queue<BinTelemetryService.BinReading> rawReadings = new ConcurrentLinkedQueue<>();
+    private final Map<RollupKey, Rollup> rollups = new ConcurrentHashMap<>();
+
+    public enum Resolution {
+        HOURLY(ChronoUnit.HOURS),
+        DAILY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Resolution(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public LocalDateTime bucketStart(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+    }
+
+    public void record(BinTelemetryService.BinReading reading) {
+        rawReadings.add(reading);
+        Rollup sample = Rollup.of(reading.fillLevel());
+        for (Resolution resolution : Resolution.values()) {
+            RollupKey key = new RollupKey(reading.binId(), resolution, resolution.bucketStart(reading.timestamp()));
+            rollups.merge(key, sample, Rollup::combine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.telemetry.flush-interval-ms:5000}")
+    public void flush() {
+        flushRawReadings();
+        flushRollups();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Scheduled(cron = "${app.telemetry.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int raw = jdbcTemplate.update("DELETE FROM bin_fill_readings WHERE recorded_at < ?",
+                Timestamp.valueOf(now.minusDays(rawRetentionDays)));
+        int hourly = jdbcTemplate.update("DELETE FROM bin_fill_rollups WHERE resolution = ? AND bucket_start < ?",
+                Resolution.HOURLY.name(), Timestamp.valueOf(now.minusDays(hourlyRetentionDays)));
+        log.debug("Purged {} raw fill readings and {} hourly rollups", raw, hourly);
+    }
+
+    public List<BinFillPointResponse> getBinCurve(Long binId, Resolution resolution,
+                                                  LocalDateTime from, LocalDateTime to) {
+        MapSqlParameterSource params = curveParams(resolution, from, to).addValue("binId", binId);
+        return namedParameterJdbcTemplate.query(BIN_CURVE_SQL, params, POINT_MAPPER);
+    }
+
+    public List<BinFillPointResponse> getAreaCurve(Collection<Long> binIds, Resolution resolution,
+                                                   LocalDateTime from, LocalDateTime to) {
+        if (binIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = curveParams(resolution, from, to).addValue("binIds", binIds);
+        return namedParameterJdbcTemplate.query(AREA_CURVE_SQL, params, POINT_MAPPER);
+    }
+
+    private MapSqlParameterSource curveParams(Resolution resolution, LocalDateTime from, LocalDateTime to) {
+        return new MapSqlParameterSource()
+                .addValue("resolution", resolution.name())
+                .addValue("from", Timestamp.valueOf(resolution.bucketStart(from)))
+                .addValue("to", Timestamp.valueOf(to));
+    }
+
+    private void flushRawReadings() {
+        List<BinTelemetryService.BinReading> batch = new ArrayList<>();
+        BinTelemetryService.BinReading reading;
+        while ((reading = rawReadings.poll()) != null) {
+            batch.add(reading);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // One transaction per flush, so a failed batch leaves no partial rows behind to be duplicated on retry
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_READING_SQL, batch, batch.size(), (ps, r) -> {
+                        ps.setLong(1, r.binId());
+                        ps.setDouble(2, r.fillLevel());
+                        ps.setTimestamp(3, Timestamp.valueOf(r.timestamp()));
+                    }));
+        } catch (Exception e) {
+            log.error("Failed to append {} raw fill readings, will retry", batch.size(), e);
+            requeue(batch);
+        }
+    }
+
+    // Keeps the retry buffer bounded while the database is unavailable; the batch holds the oldest readings
+    private void requeue(List<BinTelemetryService.BinReading> batch) {
+        int room = Math.max(0, maxBufferedReadings - rawReadings.size());
+        int dropped = Math.max(0, batch.size() - room);
+        if (dropped > 0) {
+            log.warn("Raw fill reading buffer is full, dropping the {} oldest readings", dropped);
+        }
+        rawReadings.addAll(batch.subList(dropped, batch.size()));
+    }
+
+    private void flushRollups() {
+        List<Map.Entry<RollupKey, Rollup>> batch = new ArrayList<>();
+        for (RollupKey key : rollups.keySet()) {
+            Rollup rollup = rollups.remove(key);
+            if (rollup != null) {
+                batch.add(Map.entry(key, rollup));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // Merges are not idempotent; the retry below is safe only because the whole batch commits or rolls back as one
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, batch, batch.size(), (ps, entry) -> {
+                        RollupKey key = entry.getKey();
+                        Rollup rollup = entry.getValue();
+                        ps.setLong(1, key.binId());
+                        ps.setString(2, key.resolution().name());
+                        ps.setTimestamp(3, Timestamp.valueOf(key.bucketStart()));
+                        ps.setDouble(4, rollup.min());
+                        ps.setDouble(5, rollup.max());
+                        ps.setDouble(6, rollup.sum());
+                        ps.setLong(7, rollup.count());
+                    }));
+        } catch (Exception e) {
+            log.error("Failed to merge {} fill rollups, will retry", batch.size(), e);
+            batch.forEach(entry -> rollups.merge(entry.getKey(), entry.getValue(), Rollup::combine));
+        }
+    }
+
+    private record RollupKey(Long binId, Resolution resolution, LocalDateTime bucketStart) {
+    }
+
+    private record Rollup(double min, double max, double sum, long count) {
+
+        static Rollup of(double value) {
+            return new Rollup(value, value, value, 1);
+        }
+
+        Rollup combine(Rollup other) {
+            return new Rollup(Math.min(min, other.min), Math.max(max, other.max),
+                    sum + other.sum, count + other.count);
+        }
+    }
+}
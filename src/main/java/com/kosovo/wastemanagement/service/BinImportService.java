@@ -0,0 +1,292 @@
+package com.kosovo.wastemanagement.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kosovo.wastemanagement.dto.BinImportResponse;
+import com.kosovo.wastemanagement.model.Bin;
+import com.kosovo.wastemanagement.util.Geohash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams bins from CSV or GeoJSON, validating one row at a time and inserting them in
+ * JDBC batches. The in-memory bin indexes are refreshed once after the last batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BinImportService {
+
+    private static final String INSERT_BIN_SQL =
+            "INSERT INTO bins (name, latitude, longitude, address, type, fill_level, geohash) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BinService binService;
+
+    public enum Format {
+        CSV,
+        GEOJSON
+    }
+
+    public BinImportResponse importBins(InputStream input, Format format) throws IOException {
+        ImportRun run = new ImportRun();
+        try {
+            if (format == Format.CSV) {
+                readCsv(input, run);
+            } else {
+                readGeoJson(input, run);
+            }
+            run.flush();
+        } finally {
+            if (run.imported > 0) {
+                binService.refreshIndexes();
+            }
+        }
+        log.info("Bin import finished: {} imported, {} failed", run.imported, run.failed);
+        return BinImportResponse.builder()
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    // Expected header: name,latitude,longitude,address,type,fillLevel (any order, latitude/longitude required)
+    private void readCsv(InputStream input, ImportRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = splitCsvLine(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("latitude") || !columns.containsKey("longitude")) {
+            throw new IllegalArgumentException("CSV header must contain latitude and longitude columns");
+        }
+
+        String line;
+        long row = 1;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = splitCsvLine(line);
+            Map<String, String> fields = new HashMap<>();
+            columns.forEach((name, index) -> fields.put(name, index < values.size() ? values.get(index).trim() : null));
+            run.accept(row, fields);
+        }
+    }
+
+    private void readGeoJson(InputStream input, ImportRun run) throws IOException {
+        JsonFactory factory = objectMapper.getFactory();
+        try (JsonParser parser = factory.createParser(input)) {
+            if (!advanceToFeatures(parser)) {
+                throw new IllegalArgumentException("GeoJSON must be a FeatureCollection with a features array");
+            }
+            long row = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                row++;
+                JsonNode feature = objectMapper.readTree(parser);
+                run.accept(row, featureFields(feature));
+            }
+        }
+    }
+
+    private static boolean advanceToFeatures(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("features".equals(field) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static Map<String, String> featureFields(JsonNode feature) {
+        Map<String, String> fields = new HashMap<>();
+        JsonNode coordinates = feature.path("geometry").path("coordinates");
+        if ("Point".equals(feature.path("geometry").path("type").asText()) && coordinates.size() >= 2) {
+            // GeoJSON positions are [longitude, latitude]
+            fields.put("longitude", coordinates.get(0).asText());
+            fields.put("latitude", coordinates.get(1).asText());
+        }
+        JsonNode properties = feature.path("properties");
+        for (String name : List.of("name", "address", "type")) {
+            if (properties.hasNonNull(name)) {
+                fields.put(name, properties.get(name).asText());
+            }
+        }
+        if (properties.hasNonNull("fillLevel")) {
+            fields.put("filllevel", properties.get("fillLevel").asText());
+        }
+        return fields;
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    static Bin toBin(Map<String, String> fields) {
+        double latitude = parseDouble(fields.get("latitude"), "latitude");
+        double longitude = parseDouble(fields.get("longitude"), "longitude");
+        if (latitude < -90 || latitude > 90) {
+            throw new IllegalArgumentException("latitude out of range: " + latitude);
+        }
+        if (longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("longitude out of range: " + longitude);
+        }
+
+        Bin.BinType type = Bin.BinType.GENERAL;
+        String typeValue = fields.get("type");
+        if (typeValue != null && !typeValue.isBlank()) {
+            try {
+                type = Bin.BinType.valueOf(typeValue.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("unknown bin type: " + typeValue);
+            }
+        }
+
+        Double fillLevel = null;
+        String fillValue = fields.get("filllevel");
+        if (fillValue != null && !fillValue.isBlank()) {
+            fillLevel = parseDouble(fillValue, "fillLevel");
+            if (fillLevel < 0 || fillLevel > 1) {
+                throw new IllegalArgumentException("fillLevel must be between 0 and 1");
+            }
+        }
+
+        return Bin.builder()
+                .name(truncate(fields.get("name"), 120))
+                .latitude(latitude)
+                .longitude(longitude)
+                .address(truncate(fields.get("address"), 200))
+                .type(type)
+                .fillLevel(fillLevel)
+                .build();
+    }
+
+    private static double parseDouble(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not a number: " + value);
+        }
+    }
+
+    private static String truncate(String value, int max) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.length() > max ? value.substring(0, max) : value;
+    }
+
+    private class ImportRun {
+        private final List<Bin> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<Long> batchRows = new ArrayList<>(BATCH_SIZE);
+        private final List<BinImportResponse.RowError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        void accept(long row, Map<String, String> fields) {
+            try {
+                batch.add(toBin(fields));
+                batchRows.add(row);
+            } catch (IllegalArgumentException e) {
+                fail(row, e.getMessage());
+                return;
+            }
+            if (batch.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                // One transaction per batch, so a failed batch inserts none of the rows it reports as failed
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_BIN_SQL, batch, batch.size(), (ps, bin) -> {
+                            ps.setString(1, bin.getName());
+                            ps.setDouble(2, bin.getLatitude());
+                            ps.setDouble(3, bin.getLongitude());
+                            ps.setString(4, bin.getAddress());
+                            ps.setString(5, bin.getType().name());
+                            ps.setObject(6, bin.getFillLevel());
+                            ps.setString(7, Geohash.encode(bin.getLatitude(), bin.getLongitude()));
+                        }));
+                imported += batch.size();
+            } catch (Exception e) {
+                log.error("Bin import batch failed", e);
+                batchRows.forEach(row -> fail(row, "database error: " + e.getMessage()));
+            }
+            batch.clear();
+            batchRows.clear();
+        }
+
+        void fail(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BinImportResponse.RowError(row, message));
+            }
+        }
+    }
+}
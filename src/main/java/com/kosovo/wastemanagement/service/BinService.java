@@ -0,0 +1,126 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.dto.BinFillPointResponse;
+import com.kosovo.wastemanagement.dto.BinResponse;
+import com.kosovo.wastemanagement.event.BinSavedEvent;
+import com.kosovo.wastemanagement.model.Bin;
+import com.kosovo.wastemanagement.repository.BinRepository;
+import com.kosovo.wastemanagement.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BinService {
+
+    private final BinRepository binRepository;
+    private final BinSpatialIndex binSpatialIndex;
+    private final BinFillHistoryService binFillHistoryService;
+    private final BinFillForecastService binFillForecastService;
+    private final MapClusterService mapClusterService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public Bin saveBin(Bin bin) {
+        Bin saved = binRepository.save(bin);
+        eventPublisher.publishEvent(new BinSavedEvent(saved));
+        return saved;
+    }
+
+    // After commit, so a rolled-back save never leaves a phantom bin in the index or on the map
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onBinSaved(BinSavedEvent event) {
+        Bin saved = event.bin();
+        binSpatialIndex.upsert(saved);
+        mapClusterService.upsertBin(saved);
+        if (saved.getFillLevel() != null) {
+            binFillForecastService.update(saved.getId(), saved.getFillLevel(), LocalDateTime.now());
+        }
+    }
+
+    public void refreshIndexes() {
+        binSpatialIndex.load();
+        mapClusterService.reloadBins();
+        binFillForecastService.seedFromIndex();
+    }
+
+    public Optional<Bin> findNearest(double latitude, double longitude, double maxFill) {
+        return binSpatialIndex.findNearest(latitude, longitude, fillAtMost(maxFill));
+    }
+
+    public Page<BinResponse> findNearby(double latitude, double longitude, int k, Double radiusMeters,
+                                        Bin.BinType type, Double maxFill, Pageable pageable) {
+        double radius = radiusMeters != null ? radiusMeters : Double.MAX_VALUE;
+        List<BinResponse> hits = binSpatialIndex.findNearest(latitude, longitude, k, radius, filter(type, maxFill))
+                .stream()
+                .map(hit -> BinResponse.fromBin(hit.bin(), hit.distanceMeters()))
+                .collect(Collectors.toList());
+        return toPage(hits, pageable);
+    }
+
+    public Page<BinResponse> findWithin(double minLat, double minLon, double maxLat, double maxLon,
+                                        Double latitude, Double longitude,
+                                        Bin.BinType type, Double maxFill, Pageable pageable) {
+        // Sort by distance from the given point, or from the centre of the box
+        double refLat = latitude != null ? latitude : (minLat + maxLat) / 2;
+        double refLon = longitude != null ? longitude : (minLon + maxLon) / 2;
+        List<BinResponse> bins = binSpatialIndex.findWithin(minLat, minLon, maxLat, maxLon, filter(type, maxFill))
+                .stream()
+                .map(bin -> BinResponse.fromBin(bin,
+                        GeoUtils.distanceMeters(refLat, refLon, bin.getLatitude(), bin.getLongitude())))
+                .sorted(Comparator.comparingDouble(BinResponse::getDistanceMeters))
+                .collect(Collectors.toList());
+        return toPage(bins, pageable);
+    }
+
+    public List<BinFillPointResponse> getFillHistory(Long binId, BinFillHistoryService.Resolution resolution,
+                                                     LocalDateTime from, LocalDateTime to) {
+        binSpatialIndex.get(binId).orElseThrow(() -> new RuntimeException("Bin not found"));
+        return binFillHistoryService.getBinCurve(binId, resolution, from, to);
+    }
+
+    public List<BinFillPointResponse> getAreaFillHistory(double minLat, double minLon, double maxLat, double maxLon,
+                                                         Bin.BinType type, BinFillHistoryService.Resolution resolution,
+                                                         LocalDateTime from, LocalDateTime to) {
+        List<Long> binIds = binSpatialIndex.findWithin(minLat, minLon, maxLat, maxLon, filter(type, null))
+                .stream()
+                .map(Bin::getId)
+                .collect(Collectors.toList());
+        return binFillHistoryService.getAreaCurve(binIds, resolution, from, to);
+    }
+
+    private static <T> Page<T> toPage(List<T> sorted, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted);
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+    private static Predicate<Bin> filter(Bin.BinType type, Double maxFill) {
+        Predicate<Bin> filter = type != null ? b -> b.getType() == type : b -> true;
+        return maxFill != null ? filter.and(fillAtMost(maxFill)) : filter;
+    }
+
+    private static Predicate<Bin> fillAtMost(double maxFill) {
+        return b -> b.getFillLevel() == null || b.getFillLevel() <= maxFill;
+    }
+}
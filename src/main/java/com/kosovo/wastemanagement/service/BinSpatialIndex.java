@@ -0,0 +1,278 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.model.Bin;
+import com.kosovo.wastemanagement.repository.BinRepository;
+import com.kosovo.wastemanagement.util.GeoPointArray;
+import com.kosovo.wastemanagement.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory uniform grid over bin locations. Bins are kept as detached snapshots so
+ * nearest-bin lookups never hit the database; writes go through {@link #upsert(Bin)}.
+ * A full reload builds a new grid off to the side and swaps it in, so readers never see
+ * a partly filled index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BinSpatialIndex {
+
+    // ~1.1 km cells around Kosovo latitudes
+    static final double CELL_SIZE_DEGREES = 0.01;
+
+    private final BinRepository binRepository;
+
+    private volatile Grid grid = new Grid();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        rebuild(binRepository.findAll());
+    }
+
+    public synchronized void rebuild(Collection<Bin> bins) {
+        Grid fresh = new Grid();
+        bins.forEach(fresh::upsert);
+        grid = fresh;
+        log.info("Bin spatial index loaded with {} bins in {} cells", fresh.binsById.size(), fresh.cells.size());
+    }
+
+    public synchronized void upsert(Bin bin) {
+        grid.upsert(bin);
+    }
+
+    public synchronized void updateFillLevel(Long binId, Double fillLevel) {
+        Grid current = grid;
+        Bin bin = current.binsById.get(binId);
+        if (bin != null) {
+            Bin updated = copyOf(bin);
+            updated.setFillLevel(fillLevel);
+            current.binsById.put(binId, updated);
+        }
+    }
+
+    public Optional<Bin> get(Long binId) {
+        return Optional.ofNullable(grid.binsById.get(binId));
+    }
+
+    public Collection<Bin> all() {
+        return grid.binsById.values();
+    }
+
+    public int size() {
+        return grid.binsById.size();
+    }
+
+    public Optional<Bin> findNearest(double latitude, double longitude, Predicate<Bin> filter) {
+        List<BinHit> hits = findNearest(latitude, longitude, 1, Double.MAX_VALUE, filter);
+        return hits.isEmpty() ? Optional.empty() : Optional.of(hits.get(0).bin());
+    }
+
+    /**
+     * Returns up to {@code k} bins matching {@code filter} within {@code radiusMeters}, closest first.
+     */
+    public List<BinHit> findNearest(double latitude, double longitude, int k, double radiusMeters, Predicate<Bin> filter) {
+        Grid g = grid;
+        if (g.binsById.isEmpty() || k <= 0) {
+            return List.of();
+        }
+        int row = GeoUtils.cellIndex(latitude, CELL_SIZE_DEGREES);
+        int col = GeoUtils.cellIndex(longitude, CELL_SIZE_DEGREES);
+        int minRow = g.minRow;
+        int maxRow = g.maxRow;
+        int minCol = g.minCol;
+        int maxCol = g.maxCol;
+        int maxRing = Math.max(
+                Math.max(Math.abs(row - minRow), Math.abs(maxRow - row)),
+                Math.max(Math.abs(col - minCol), Math.abs(maxCol - col)));
+        // Shortest side of a cell, used as a lower bound for anything in outer rings
+        double cellMeters = CELL_SIZE_DEGREES * Math.min(GeoUtils.METERS_PER_DEGREE_LAT,
+                GeoUtils.metersPerDegreeLon(Math.min(Math.abs(latitude) + CELL_SIZE_DEGREES, 89.0)));
+
+        // Max-heap on distance so the current worst candidate is evicted first
+        PriorityQueue<BinHit> best = new PriorityQueue<>(Comparator.comparingDouble(BinHit::distanceMeters).reversed());
+        double[] distances = new double[16];
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Anything not yet visited lies at least (ring - 1) whole cells away
+            double lowerBound = (ring - 1) * cellMeters;
+            if (lowerBound > radiusMeters) {
+                break;
+            }
+            if (best.size() == k && best.peek().distanceMeters() <= lowerBound) {
+                break;
+            }
+            // Only the part of the ring that overlaps the populated cells is walked
+            for (int r = Math.max(row - ring, minRow); r <= Math.min(row + ring, maxRow); r++) {
+                boolean edgeRow = r == row - ring || r == row + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                int fromCol = edgeRow ? Math.max(col - ring, minCol) : col - ring;
+                int toCol = edgeRow ? Math.min(col + ring, maxCol) : col + ring;
+                for (int c = fromCol; c <= toCol; c += step) {
+                    if (c < minCol || c > maxCol) {
+                        continue;
+                    }
+                    GeoPointArray points = g.cells.get(GeoUtils.cellKey(r, c));
+                    if (points == null) {
+                        continue;
+                    }
+                    if (distances.length < points.size()) {
+                        distances = new double[points.size()];
+                    }
+                    // Distances for the whole cell in one pass; the filter only runs for bins that would make the cut
+                    points.distancesMeters(latitude, longitude, distances);
+                    for (int i = 0; i < points.size(); i++) {
+                        double d = distances[i];
+                        if (d > radiusMeters || (best.size() == k && d >= best.peek().distanceMeters())) {
+                            continue;
+                        }
+                        Bin bin = g.binsById.get(points.id(i));
+                        if (bin == null || !filter.test(bin)) {
+                            continue;
+                        }
+                        if (best.size() < k) {
+                            best.add(new BinHit(bin, d));
+                        } else {
+                            best.poll();
+                            best.add(new BinHit(bin, d));
+                        }
+                    }
+                }
+            }
+        }
+        List<BinHit> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(BinHit::distanceMeters));
+        return result;
+    }
+
+    /**
+     * Returns bins matching {@code filter} inside the given bounding box, unordered.
+     */
+    public List<Bin> findWithin(double minLat, double minLon, double maxLat, double maxLon, Predicate<Bin> filter) {
+        Grid g = grid;
+        List<Bin> result = new ArrayList<>();
+        int fromRow = Math.max(GeoUtils.cellIndex(minLat, CELL_SIZE_DEGREES), g.minRow);
+        int toRow = Math.min(GeoUtils.cellIndex(maxLat, CELL_SIZE_DEGREES), g.maxRow);
+        int fromCol = Math.max(GeoUtils.cellIndex(minLon, CELL_SIZE_DEGREES), g.minCol);
+        int toCol = Math.min(GeoUtils.cellIndex(maxLon, CELL_SIZE_DEGREES), g.maxCol);
+        if (fromRow > toRow || fromCol > toCol) {
+            return result;
+        }
+        long cellCount = (long) (toRow - fromRow + 1) * (toCol - fromCol + 1);
+        if (cellCount > g.cells.size()) {
+            // Box covers more cells than are populated; walking the occupied cells is cheaper
+            for (Bin bin : g.binsById.values()) {
+                if (inBox(bin, minLat, minLon, maxLat, maxLon) && filter.test(bin)) {
+                    result.add(bin);
+                }
+            }
+            return result;
+        }
+        for (int r = fromRow; r <= toRow; r++) {
+            for (int c = fromCol; c <= toCol; c++) {
+                GeoPointArray points = g.cells.get(GeoUtils.cellKey(r, c));
+                if (points == null) {
+                    continue;
+                }
+                for (int i = 0; i < points.size(); i++) {
+                    Bin bin = g.binsById.get(points.id(i));
+                    if (bin != null && inBox(bin, minLat, minLon, maxLat, maxLon) && filter.test(bin)) {
+                        result.add(bin);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean inBox(Bin bin, double minLat, double minLon, double maxLat, double maxLon) {
+        return bin.getLatitude() >= minLat && bin.getLatitude() <= maxLat
+                && bin.getLongitude() >= minLon && bin.getLongitude() <= maxLon;
+    }
+
+    private static long cellKey(Bin bin) {
+        return GeoUtils.cellKey(bin.getLatitude(), bin.getLongitude(), CELL_SIZE_DEGREES);
+    }
+
+    private static Bin copyOf(Bin bin) {
+        return Bin.builder()
+                .id(bin.getId())
+                .name(bin.getName())
+                .latitude(bin.getLatitude())
+                .longitude(bin.getLongitude())
+                .address(bin.getAddress())
+                .type(bin.getType())
+                .fillLevel(bin.getFillLevel())
+                .build();
+    }
+
+    public record BinHit(Bin bin, double distanceMeters) {
+    }
+
+    // Mutated only under the index lock; readers take the current reference once per query.
+    // Cell point arrays are copy-on-write, so a reader never sees one change under it.
+    private static final class Grid {
+        private final Map<Long, Bin> binsById = new ConcurrentHashMap<>();
+        private final Map<Long, GeoPointArray> cells = new ConcurrentHashMap<>();
+        private volatile int minRow = Integer.MAX_VALUE;
+        private volatile int maxRow = Integer.MIN_VALUE;
+        private volatile int minCol = Integer.MAX_VALUE;
+        private volatile int maxCol = Integer.MIN_VALUE;
+
+        void upsert(Bin bin) {
+            if (bin == null || bin.getId() == null || bin.getLatitude() == null || bin.getLongitude() == null) {
+                return;
+            }
+            Bin snapshot = copyOf(bin);
+            Bin previous = binsById.put(snapshot.getId(), snapshot);
+            long key = cellKey(snapshot);
+            if (previous != null && cellKey(previous) != key) {
+                removeFromCell(cellKey(previous), previous.getId());
+            }
+            GeoPointArray current = cells.get(key);
+            GeoPointArray points = current == null ? new GeoPointArray(1) : current.copy();
+            points.remove(snapshot.getId());
+            points.add(snapshot.getId(), snapshot.getLatitude(), snapshot.getLongitude());
+            cells.put(key, points);
+            expandBounds(snapshot);
+        }
+
+        private void removeFromCell(long key, Long binId) {
+            GeoPointArray current = cells.get(key);
+            if (current == null) {
+                return;
+            }
+            GeoPointArray points = current.copy();
+            points.remove(binId);
+            if (points.size() == 0) {
+                cells.remove(key);
+            } else {
+                cells.put(key, points);
+            }
+        }
+
+        private void expandBounds(Bin bin) {
+            int row = GeoUtils.cellIndex(bin.getLatitude(), CELL_SIZE_DEGREES);
+            int col = GeoUtils.cellIndex(bin.getLongitude(), CELL_SIZE_DEGREES);
+            minRow = Math.min(minRow, row);
+            maxRow = Math.max(maxRow, row);
+            minCol = Math.min(minCol, col);
+            maxCol = Math.max(maxCol, col);
+        }
+    }
+}
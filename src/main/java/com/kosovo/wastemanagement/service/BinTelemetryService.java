@@ -0,0 +1,101 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.dto.BinReadingBatchResponse;
+import com.kosovo.wastemanagement.dto.BinReadingRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers fill-level readings in memory, keeping only the latest one per bin, and writes
+ * them to the bins table in a single JDBC batch on a fixed interval.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BinTelemetryService {
+
+    private static final String UPDATE_FILL_LEVEL_SQL = "UPDATE bins SET fill_level = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BinSpatialIndex binSpatialIndex;
+    private final BinFillHistoryService binFillHistoryService;
+    private final BinFillForecastService binFillForecastService;
+
+    private final Map<Long, BinReading> latestReadings = new ConcurrentHashMap<>();
+    private final Map<Long, BinReading> pending = new ConcurrentHashMap<>();
+
+    public BinReadingBatchResponse ingest(List<BinReadingRequest> readings) {
+        int accepted = 0;
+        List<Long> unknownBinIds = new ArrayList<>();
+        LocalDateTime receivedAt = LocalDateTime.now();
+
+        for (BinReadingRequest request : readings) {
+            if (binSpatialIndex.get(request.getBinId()).isEmpty()) {
+                unknownBinIds.add(request.getBinId());
+                continue;
+            }
+            BinReading reading = new BinReading(request.getBinId(), request.getFillLevel(),
+                    request.getTimestamp() != null ? request.getTimestamp() : receivedAt);
+            binFillHistoryService.record(reading);
+            binFillForecastService.update(reading.binId(), reading.fillLevel(), reading.timestamp());
+            accepted++;
+            // Late, out-of-order readings are accepted but never overwrite a newer level
+            if (latestReadings.merge(reading.binId(), reading, BinTelemetryService::latest) == reading) {
+                BinReading current = pending.merge(reading.binId(), reading, BinTelemetryService::latest);
+                binSpatialIndex.updateFillLevel(current.binId(), current.fillLevel());
+            }
+        }
+
+        return BinReadingBatchResponse.builder()
+                .accepted(accepted)
+                .rejected(readings.size() - accepted)
+                .unknownBinIds(unknownBinIds)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${app.telemetry.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<BinReading> batch = new ArrayList<>(pending.values());
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_FILL_LEVEL_SQL, batch, batch.size(), (ps, reading) -> {
+                ps.setDouble(1, reading.fillLevel());
+                ps.setLong(2, reading.binId());
+            });
+        } catch (Exception e) {
+            log.error("Failed to flush {} bin fill readings, will retry", batch.size(), e);
+            return;
+        }
+        // Only drop readings that were not superseded while the batch was running
+        batch.forEach(reading -> pending.remove(reading.binId(), reading));
+        log.debug("Flushed fill levels for {} bins", batch.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private static BinReading latest(BinReading current, BinReading incoming) {
+        return incoming.timestamp().isBefore(current.timestamp()) ? current : incoming;
+    }
+
+    public record BinReading(Long binId, double fillLevel, LocalDateTime timestamp) {
+    }
+}
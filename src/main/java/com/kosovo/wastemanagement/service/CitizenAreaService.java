@@ -0,0 +1,124 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.model.Area;
+import com.kosovo.wastemanagement.model.AreaBoundary;
+import com.kosovo.wastemanagement.model.User;
+import com.kosovo.wastemanagement.repository.AreaBoundaryRepository;
+import com.kosovo.wastemanagement.repository.UserRepository;
+import com.kosovo.wastemanagement.util.AreaPolygon;
+import com.kosovo.wastemanagement.util.GeoUtils;
+import com.kosovo.wastemanagement.util.Geohash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the user_area table, the materialised set of areas each citizen lives in. Rows are
+ * recomputed for one citizen when their location changes and for one area when its geometry
+ * changes, so reminder fan-out is a plain indexed join.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CitizenAreaService {
+
+    private static final String INSERT_SQL = "INSERT INTO user_area (user_id, area_id) VALUES (?, ?)";
+    private static final int MAX_GEOHASH_CELLS = 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final AreaBoundaryRepository areaBoundaryRepository;
+    private final AreaLocator areaLocator;
+
+    // Backfills membership on first start; later changes are incremental
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_area", Integer.class);
+        if (rows != null && rows == 0) {
+            rebuildAll();
+        }
+    }
+
+    public void rebuildAll() {
+        jdbcTemplate.update("DELETE FROM user_area");
+        List<Object[]> memberships = new ArrayList<>();
+        for (UserRepository.UserLocation citizen : userRepository.findCitizenLocations()) {
+            for (Long areaId : areaLocator.locateAll(citizen.getLatitude(), citizen.getLongitude())) {
+                memberships.add(new Object[]{citizen.getId(), areaId});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, memberships);
+        log.info("Rebuilt citizen area membership with {} rows", memberships.size());
+    }
+
+    /**
+     * Recomputes the areas of one user, after signup or a change of coordinates.
+     */
+    public void updateUser(User user) {
+        jdbcTemplate.update("DELETE FROM user_area WHERE user_id = ?", user.getId());
+        if (user.getRole() != User.Role.CITIZEN || user.getLatitude() == null || user.getLongitude() == null) {
+            return;
+        }
+        List<Object[]> memberships = new ArrayList<>();
+        for (Long areaId : areaLocator.locateAll(user.getLatitude(), user.getLongitude())) {
+            memberships.add(new Object[]{user.getId(), areaId});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, memberships);
+    }
+
+    /**
+     * Recomputes the citizens of one area, after its boundary, centre or active flag changed.
+     * Candidates come from geohash range scans over the area's bounding box.
+     */
+    public void updateArea(Area area) {
+        jdbcTemplate.update("DELETE FROM user_area WHERE area_id = ?", area.getId());
+        if (!Boolean.TRUE.equals(area.getIsActive())) {
+            return;
+        }
+
+        AreaPolygon polygon = areaBoundaryRepository.findById(area.getId())
+                .map(AreaBoundary::getPolygon)
+                .map(AreaPolygon::fromBytes)
+                .orElse(null);
+        double minLat, minLon, maxLat, maxLon;
+        if (polygon != null) {
+            minLat = polygon.minLatitude();
+            minLon = polygon.minLongitude();
+            maxLat = polygon.maxLatitude();
+            maxLon = polygon.maxLongitude();
+        } else if (area.getCenterLatitude() != null && area.getCenterLongitude() != null) {
+            double dLat = AreaLocator.CENTRE_RADIUS_METERS / GeoUtils.METERS_PER_DEGREE_LAT;
+            double dLon = AreaLocator.CENTRE_RADIUS_METERS
+                    / Math.max(GeoUtils.metersPerDegreeLon(area.getCenterLatitude()), 1.0);
+            minLat = area.getCenterLatitude() - dLat;
+            maxLat = area.getCenterLatitude() + dLat;
+            minLon = area.getCenterLongitude() - dLon;
+            maxLon = area.getCenterLongitude() + dLon;
+        } else {
+            return;
+        }
+
+        List<Object[]> memberships = new ArrayList<>();
+        for (Geohash.Range range : Geohash.coveringRanges(minLat, minLon, maxLat, maxLon, MAX_GEOHASH_CELLS)) {
+            for (UserRepository.UserLocation citizen : userRepository.findCitizenLocationsInGeohashRange(range.from(), range.to())) {
+                boolean member = polygon != null
+                        ? polygon.contains(citizen.getLatitude(), citizen.getLongitude())
+                        : GeoUtils.distanceMeters(area.getCenterLatitude(), area.getCenterLongitude(),
+                                citizen.getLatitude(), citizen.getLongitude()) <= AreaLocator.CENTRE_RADIUS_METERS;
+                if (member) {
+                    memberships.add(new Object[]{citizen.getId(), area.getId()});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, memberships);
+        log.info("Area {} now has {} citizens", area.getId(), memberships.size());
+    }
+}
@@ -90,7 +90,7 @@ public class CollectionScheduleService {
     private void sendCollectionRemindersForSchedule(CollectionSchedule schedule) {
         Area area = schedule.getArea();
         
-        // Get citizens in the specific area (within 5km radius)
+        // Membership is precomputed in user_area, see CitizenAreaService
         List<User> citizensInArea = userRepository.findActiveVerifiedCitizensByArea(area.getId());
         
         log.info("Found {} citizens in area '{}' for collection reminders", citizensInArea.size(), area.getName());
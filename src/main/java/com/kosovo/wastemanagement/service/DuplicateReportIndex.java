@@ -0,0 +1,163 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.event.ReportCreatedEvent;
+import com.kosovo.wastemanagement.event.ReportStatusChangedEvent;
+import com.kosovo.wastemanagement.model.Report;
+import com.kosovo.wastemanagement.repository.ReportRepository;
+import com.kosovo.wastemanagement.util.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Open reports bucketed by type, grid cell and time window, so finding possible duplicates of a
+ * new report touches a fixed handful of buckets. Cells are as tall as the duplicate distance and
+ * buckets as long as the time window, which bounds the neighbourhood to scan.
+ */
+@Component
+@Slf4j
+public class DuplicateReportIndex {
+
+    private static final Set<Report.ReportStatus> OPEN_STATUSES =
+            Set.of(Report.ReportStatus.PENDING, Report.ReportStatus.IN_PROGRESS);
+
+    private final ReportRepository reportRepository;
+    private final double distanceMeters;
+    private final long windowSeconds;
+    private final double cellSizeDegrees;
+
+    private final Map<Long, Sighting> sightingsById = new ConcurrentHashMap<>();
+    private final Map<BucketKey, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+    public DuplicateReportIndex(ReportRepository reportRepository,
+                                @Value("${app.duplicates.distance-meters:75}") double distanceMeters,
+                                @Value("${app.duplicates.window-hours:12}") int windowHours) {
+        this.reportRepository = reportRepository;
+        this.distanceMeters = distanceMeters;
+        this.windowSeconds = Duration.ofHours(windowHours).toSeconds();
+        this.cellSizeDegrees = distanceMeters / GeoUtils.METERS_PER_DEGREE_LAT;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime since = LocalDateTime.now().minusSeconds(windowSeconds);
+        reportRepository.findSightingsByStatusInAndCreatedAtAfter(OPEN_STATUSES, since)
+                .forEach(s -> add(s.getId(), s.getType(), s.getLatitude(), s.getLongitude(), s.getCreatedAt()));
+        log.info("Duplicate report index loaded with {} open reports", sightingsById.size());
+    }
+
+    @TransactionalEventListener
+    public void onReportCreated(ReportCreatedEvent event) {
+        if (OPEN_STATUSES.contains(event.status())) {
+            add(event.reportId(), event.type(), event.latitude(), event.longitude(), event.createdAt());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        if (!OPEN_STATUSES.contains(event.status())) {
+            remove(event.reportId());
+        }
+    }
+
+    /**
+     * Open reports of the same type within the configured distance and time window of the
+     * given point, closest first.
+     */
+    public List<Match> findCandidates(Report.ReportType type, double latitude, double longitude,
+                                      LocalDateTime at, int limit) {
+        int row = GeoUtils.cellIndex(latitude, cellSizeDegrees);
+        int col = GeoUtils.cellIndex(longitude, cellSizeDegrees);
+        // Longitude degrees shrink away from the equator, so more columns cover the same distance
+        double cellWidthMeters = cellSizeDegrees
+                * Math.max(GeoUtils.metersPerDegreeLon(Math.min(Math.abs(latitude) + cellSizeDegrees, 89.0)), 1.0);
+        int colSpan = (int) Math.ceil(distanceMeters / cellWidthMeters);
+        long seconds = at.toEpochSecond(ZoneOffset.UTC);
+        long bucket = Math.floorDiv(seconds, windowSeconds);
+
+        List<Match> matches = new ArrayList<>();
+        for (long b = bucket - 1; b <= bucket + 1; b++) {
+            for (int r = row - 1; r <= row + 1; r++) {
+                for (int c = col - colSpan; c <= col + colSpan; c++) {
+                    Set<Long> ids = buckets.get(new BucketKey(type, GeoUtils.cellKey(r, c), b));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Long id : ids) {
+                        Sighting sighting = sightingsById.get(id);
+                        if (sighting == null || Math.abs(sighting.epochSeconds() - seconds) > windowSeconds) {
+                            continue;
+                        }
+                        double d = GeoUtils.distanceMeters(latitude, longitude, sighting.latitude(), sighting.longitude());
+                        if (d <= distanceMeters) {
+                            matches.add(new Match(id, d));
+                        }
+                    }
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::distanceMeters).thenComparing(Match::reportId));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    public synchronized void add(Long reportId, Report.ReportType type, double latitude, double longitude,
+                                 LocalDateTime createdAt) {
+        remove(reportId);
+        long seconds = createdAt.toEpochSecond(ZoneOffset.UTC);
+        BucketKey key = new BucketKey(type, GeoUtils.cellKey(latitude, longitude, cellSizeDegrees),
+                Math.floorDiv(seconds, windowSeconds));
+        sightingsById.put(reportId, new Sighting(key, latitude, longitude, seconds));
+        buckets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(reportId);
+    }
+
+    public synchronized void remove(Long reportId) {
+        Sighting previous = sightingsById.remove(reportId);
+        if (previous != null) {
+            Set<Long> ids = buckets.get(previous.key());
+            if (ids != null) {
+                ids.remove(reportId);
+                if (ids.isEmpty()) {
+                    buckets.remove(previous.key());
+                }
+            }
+        }
+    }
+
+    // Reports older than the window can no longer match anything new
+    @Scheduled(fixedDelayString = "${app.duplicates.evict-interval-ms:600000}")
+    public synchronized void evictExpired() {
+        long cutoff = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) - windowSeconds;
+        List<Long> expired = sightingsById.entrySet().stream()
+                .filter(e -> e.getValue().epochSeconds() < cutoff)
+                .map(Map.Entry::getKey)
+                .toList();
+        expired.forEach(this::remove);
+    }
+
+    public int size() {
+        return sightingsById.size();
+    }
+
+    private record BucketKey(Report.ReportType type, long cell, long bucket) {
+    }
+
+    private record Sighting(BucketKey key, double latitude, double longitude, long epochSeconds) {
+    }
+
+    public record Match(Long reportId, double distanceMeters) {
+    }
+}
@@ -1,34 +1,260 @@
 package com.kosovo.wastemanagement.service;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
 
 @Service
+@RequiredArgsConstructor
+@Slf4j
 public class FileStorageService {
 
+    // Taking the row first serialises concurrent uploads of the same content against garbage collection
+    private static final String ACQUIRE_SQL =
+            "INSERT INTO stored_files (sha256, file_path, file_size, ref_count, updated_at) VALUES (?, ?, ?, 1, ?) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.storage.blob-dir:uploads/blobs}")
+    private String blobDirectory;
+
+    @Value("${app.storage.gc-grace-hours:24}")
+    private int gcGraceHours;
+
     public String storeFile(MultipartFile file, String directory, String fileName) throws IOException {
         Path uploadPath = Paths.get(directory);
-        
+
         // Create directory if it doesn't exist
         if (!Files.exists(uploadPath)) {
             Files.createDirectories(uploadPath);
         }
-        
+
         Path filePath = uploadPath.resolve(fileName);
         Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-        
+
         return filePath.toString();
     }
-}
 
+    /**
+     * Stores the upload under its SHA-256 and takes a reference on it. The upload is read once,
+     * hashed while it is copied into a temporary file, and moved into the store before the
+     * transaction commits; a rollback removes it again. Must run in a transaction.
+     */
+    public StoredBlob storeBlob(MultipartFile file) throws IOException {
+        MessageDigest digest = newSha256();
+        Path temp = tempFile();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return storeBlob(temp, HexFormat.of().formatHex(digest.digest()), true);
+    }
+
+    /**
+     * Takes a reference on an already hashed file (e.g. an assembled chunked upload) and moves it
+     * into the store. After a rollback the source is put back for the caller. Must run in a transaction.
+     */
+    public StoredBlob storeBlob(Path source, String hash) throws IOException {
+        return storeBlob(source, hash, false);
+    }
 
+    private StoredBlob storeBlob(Path source, String hash, boolean discardOnRollback) throws IOException {
+        Path target = blobPath(hash);
+        long size = Files.size(source);
+        // The stored_files row stays locked until the transaction ends, so garbage collection and
+        // concurrent uploads of the same content wait for the move and for any rollback cleanup
+        acquire(hash, target, size);
+        boolean created = !Files.exists(target);
+        if (created) {
+            // A failed move fails the transaction, so no committed reference points at a missing file
+            moveIntoPlace(source, target);
+        }
+        cleanUpOnCompletion(hash, source, target, created, discardOnRollback);
+        return new StoredBlob(hash, target.toString(), size);
+    }
 
+    /**
+     * Drops one reference. Unreferenced blobs are deleted by {@link #collectGarbage()} after a grace period.
+     */
+    public void release(String hash) {
+        jdbcTemplate.update("UPDATE stored_files SET ref_count = ref_count - 1, updated_at = ? " +
+                "WHERE sha256 = ? AND ref_count > 0", Timestamp.valueOf(LocalDateTime.now()), hash);
+    }
 
+    // Deletes files while holding the row locks, so a concurrent acquire waits and then rewrites the file
+    @Scheduled(cron = "${app.storage.gc-cron:0 30 3 * * *}")
+    @Transactional
+    public void collectGarbage() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(gcGraceHours));
+        sweepTempFiles(cutoff.toInstant());
+        List<String> hashes = jdbcTemplate.queryForList(
+                "SELECT sha256 FROM stored_files WHERE ref_count = 0 AND updated_at < ? LIMIT 1000 FOR UPDATE",
+                String.class, cutoff);
+        for (String hash : hashes) {
+            Path blob = blobPath(hash);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(blob.getParent(), hash + "*")) {
+                // The blob and any variants derived from it
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete blob {}: {}", hash, e.getMessage());
+                continue;
+            }
+            jdbcTemplate.update("DELETE FROM stored_files WHERE sha256 = ?", hash);
+        }
+        if (!hashes.isEmpty()) {
+            log.info("Deleted {} unreferenced blobs", hashes.size());
+        }
+    }
 
+    public Path tempFile() throws IOException {
+        Path directory = tempDirectory();
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, "upload", ".tmp");
+    }
 
+    private Path tempDirectory() {
+        return Paths.get(blobDirectory, "tmp");
+    }
+
+    // Left behind by a crash mid-request, or by abandoned uploads
+    private void sweepTempFiles(Instant cutoff) {
+        Path directory = tempDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                        Files.deleteIfExists(file);
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not delete temporary file {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not list temporary files: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} stale temporary files", deleted);
+        }
+    }
+
+    // Two levels of 256 directories keep each folder small even with millions of blobs
+    public Path blobPath(String hash) {
+        return Paths.get(blobDirectory, hash.substring(0, 2), hash.substring(2, 4), hash);
+    }
+
+    private void acquire(String hash, Path target, long size) {
+        jdbcTemplate.update(ACQUIRE_SQL, hash, target.toString(), size, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * After commit, drops a source whose content was already stored. After a rollback, takes back
+     * a blob this transaction created unless another transaction has referenced it meanwhile.
+     */
+    private void cleanUpOnCompletion(String hash, Path source, Path target, boolean created,
+                                     boolean discardOnRollback) throws IOException {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (!created) {
+                Files.deleteIfExists(source);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        if (!created) {
+                            Files.deleteIfExists(source);
+                        }
+                    } else if (created) {
+                        takeBack(hash, source, target, discardOnRollback);
+                    } else if (discardOnRollback) {
+                        Files.deleteIfExists(source);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not clean up blob {} after transaction: {}", hash, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void takeBack(String hash, Path source, Path target, boolean discard) {
+        // Resources of the finished transaction may still be bound here, so the check runs in its own
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.executeWithoutResult(status -> {
+            List<Integer> refCounts = jdbcTemplate.queryForList(
+                    "SELECT ref_count FROM stored_files WHERE sha256 = ? FOR UPDATE", Integer.class, hash);
+            if (!refCounts.isEmpty() && refCounts.get(0) > 0) {
+                return;
+            }
+            try {
+                if (discard) {
+                    Files.deleteIfExists(target);
+                } else {
+                    Files.move(target, source, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                log.warn("Could not take back blob {} after rollback: {}", hash, e.getMessage());
+            }
+        });
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.createDirectories(target.getParent());
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record StoredBlob(String hash, String path, long size) {
+    }
+}
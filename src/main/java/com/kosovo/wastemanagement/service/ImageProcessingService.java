@@ -0,0 +1,302 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.event.ReportImagesStoredEvent;
+import com.kosovo.wastemanagement.model.ReportImage;
+import com.kosovo.wastemanagement.repository.ReportImageRepository;
+import com.kosovo.wastemanagement.util.ExifOrientation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PreDestroy;
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a thumbnail and a web-sized JPEG for each stored report image on a small bounded
+ * pool, off the request path. Variants are re-encoded from pixels only, so EXIF metadata
+ * (including GPS) never reaches them. Images the pool could not take, or whose processing failed
+ * for a transient reason such as I/O, are picked up by the sweeper with exponential backoff; only
+ * input that cannot be decoded is marked FAILED straight away.
+ */
+@Service
+@Slf4j
+public class ImageProcessingService {
+
+    private final ReportImageRepository reportImageRepository;
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.images.thumbnail-size:320}")
+    private int thumbnailSize;
+
+    @Value("${app.images.web-size:1280}")
+    private int webSize;
+
+    @Value("${app.images.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    @Value("${app.images.processing.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.images.processing.retry-backoff-ms:60000}")
+    private long retryBackoffMs;
+
+    public ImageProcessingService(ReportImageRepository reportImageRepository,
+                                  @Value("${app.images.processing.threads:2}") int threads,
+                                  @Value("${app.images.processing.queue-capacity:100}") int queueCapacity) {
+        this.reportImageRepository = reportImageRepository;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-processing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @TransactionalEventListener
+    public void onImagesStored(ReportImagesStoredEvent event) {
+        event.imageIds().forEach(this::submit);
+    }
+
+    // Retries images that were rejected by a full queue, lost on restart, or uploaded before variants existed
+    @Scheduled(fixedDelayString = "${app.images.sweep-interval-ms:60000}")
+    public void sweepPending() {
+        LocalDateTime now = LocalDateTime.now();
+        reportImageRepository
+                .findDue(ReportImage.ProcessingStatus.PENDING, now.minusMinutes(1), now, PageRequest.of(0, 100))
+                .forEach(image -> submit(image.getId()));
+    }
+
+    private void submit(Long imageId) {
+        if (!queued.add(imageId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(imageId);
+                } finally {
+                    queued.remove(imageId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(imageId);
+            log.debug("Image processing queue full, image {} left for the sweeper", imageId);
+        }
+    }
+
+    private void process(Long imageId) {
+        ReportImage image = reportImageRepository.findById(imageId).orElse(null);
+        if (image == null || image.getProcessingStatus() != ReportImage.ProcessingStatus.PENDING) {
+            return;
+        }
+        Path original = Paths.get(image.getFilePath());
+        try {
+            int orientation;
+            try (InputStream in = Files.newInputStream(original)) {
+                orientation = ExifOrientation.read(in);
+            }
+            Path thumbnail = variantPath(original, "thumb");
+            Path web = variantPath(original, "web");
+            // Content-addressed originals share variants, so duplicates skip decoding entirely
+            boolean reuse = image.getContentHash() != null && Files.exists(thumbnail) && Files.exists(web);
+            Decoded decoded = reuse ? readDimensions(original) : decode(original, webSize);
+            boolean swap = ExifOrientation.swapsDimensions(orientation);
+            if (reuse) {
+                image.setThumbnailSize(Files.size(thumbnail));
+                image.setWebSize(Files.size(web));
+            } else {
+                BufferedImage upright = orient(decoded.image(), orientation);
+                image.setThumbnailSize(writeJpeg(scaleToFit(upright, thumbnailSize), thumbnail));
+                image.setWebSize(writeJpeg(scaleToFit(upright, webSize), web));
+            }
+            image.setThumbnailPath(thumbnail.toString());
+            image.setWebPath(web.toString());
+            image.setWidth(swap ? decoded.height() : decoded.width());
+            image.setHeight(swap ? decoded.width() : decoded.height());
+            image.setProcessingStatus(ReportImage.ProcessingStatus.READY);
+        } catch (UndecodableImageException e) {
+            log.warn("Report image {} cannot be decoded: {}", imageId, e.getMessage());
+            image.setProcessingStatus(ReportImage.ProcessingStatus.FAILED);
+        } catch (IOException | RuntimeException e) {
+            int attempts = image.getProcessingAttempts() + 1;
+            image.setProcessingAttempts(attempts);
+            if (attempts >= maxAttempts) {
+                log.warn("Giving up on report image {} after {} attempts: {}", imageId, attempts, e.getMessage());
+                image.setProcessingStatus(ReportImage.ProcessingStatus.FAILED);
+            } else {
+                long backoffMs = retryBackoffMs << Math.min(attempts - 1, 16);
+                log.warn("Failed to process report image {}, retrying in {} ms: {}", imageId, backoffMs, e.getMessage());
+                image.setNextAttemptAt(LocalDateTime.now().plus(backoffMs, ChronoUnit.MILLIS));
+            }
+        }
+        reportImageRepository.save(image);
+    }
+
+    private static Decoded readDimensions(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UndecodableImageException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new Decoded(null, reader.getWidth(0), reader.getHeight(0));
+            } catch (IIOException | RuntimeException e) {
+                throw new UndecodableImageException(e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Decodes with source subsampling so large photos never expand to full resolution on heap
+    private static Decoded decode(Path path, int targetSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UndecodableImageException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                // Keep at least twice the target resolution for a clean final downscale
+                int subsampling = Math.max(1, Math.max(width, height) / (2 * targetSize));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return new Decoded(reader.read(0, param), width, height);
+            } catch (IIOException | RuntimeException e) {
+                throw new UndecodableImageException(e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Applies the EXIF orientation and flattens any alpha onto white, ready for JPEG encoding
+    private static BufferedImage orient(BufferedImage source, int orientation) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        boolean swap = ExifOrientation.swapsDimensions(orientation);
+        BufferedImage result = new BufferedImage(swap ? height : width, swap ? width : height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, result.getWidth(), result.getHeight());
+            g.drawImage(source, ExifOrientation.transform(orientation, width, height), null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    // Halves repeatedly before the final bilinear step, which avoids aliasing on large reductions
+    private static BufferedImage scaleToFit(BufferedImage source, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            current = resize(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    // Writes to a temporary file and moves it into place, so readers never see a partial variant
+    private long writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "variant", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Files.size(target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Path variantPath(Path original, String variant) {
+        String name = original.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return original.resolveSibling(base + "_" + variant + ".jpg");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record Decoded(BufferedImage image, int width, int height) {
+    }
+
+    // The file was read but its content is not an image ImageIO can decode; retrying will not help
+    private static class UndecodableImageException extends IOException {
+
+        UndecodableImageException(String message) {
+            super(message);
+        }
+
+        UndecodableImageException(Throwable cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.dto.ClusterResponse;
+import com.kosovo.wastemanagement.event.ReportCreatedEvent;
+import com.kosovo.wastemanagement.event.ReportStatusChangedEvent;
+import com.kosovo.wastemanagement.model.Bin;
+import com.kosovo.wastemanagement.model.Report;
+import com.kosovo.wastemanagement.repository.ReportRepository;
+import com.kosovo.wastemanagement.util.ClusterGrid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps per-zoom clusters of bins and open reports in memory so map pans and zooms never
+ * read the bins or reports tables. Full reloads build a new grid and swap it in; report changes
+ * are applied after commit, under the same lock as the reload so none is lost to the swap.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MapClusterService {
+
+    static final Set<Report.ReportStatus> OPEN_STATUSES =
+            EnumSet.of(Report.ReportStatus.PENDING, Report.ReportStatus.IN_PROGRESS);
+
+    private final BinSpatialIndex binSpatialIndex;
+    private final ReportRepository reportRepository;
+
+    private volatile ClusterGrid binClusters = new ClusterGrid();
+    private volatile ClusterGrid reportClusters = new ClusterGrid();
+
+    public enum Layer {
+        BINS,
+        REPORTS
+    }
+
+    // Runs after BinSpatialIndex has loaded
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadBins();
+        reloadReports();
+        log.info("Map clusters built for {} bins and {} open reports", binClusters.size(), reportClusters.size());
+    }
+
+    public synchronized void reloadReports() {
+        ClusterGrid reports = new ClusterGrid();
+        reportRepository.findLocationsByStatusIn(OPEN_STATUSES)
+                .forEach(r -> reports.upsert(r.getId(), r.getLatitude(), r.getLongitude()));
+        reportClusters = reports;
+    }
+
+    public synchronized void reloadBins() {
+        ClusterGrid bins = new ClusterGrid();
+        binSpatialIndex.all().forEach(bin -> addBin(bins, bin));
+        binClusters = bins;
+    }
+
+    public synchronized void upsertBin(Bin bin) {
+        addBin(binClusters, bin);
+    }
+
+    private static void addBin(ClusterGrid grid, Bin bin) {
+        if (bin.getId() != null && bin.getLatitude() != null && bin.getLongitude() != null) {
+            grid.upsert(bin.getId(), bin.getLatitude(), bin.getLongitude());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onReportCreated(ReportCreatedEvent event) {
+        upsertReport(event.reportId(), event.status(), event.latitude(), event.longitude());
+    }
+
+    @TransactionalEventListener
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        upsertReport(event.reportId(), event.status(), event.latitude(), event.longitude());
+    }
+
+    // Resolved and closed reports drop off the map
+    private synchronized void upsertReport(Long reportId, Report.ReportStatus status,
+                                           double latitude, double longitude) {
+        if (OPEN_STATUSES.contains(status)) {
+            reportClusters.upsert(reportId, latitude, longitude);
+        } else {
+            reportClusters.remove(reportId);
+        }
+    }
+
+    public List<ClusterResponse> getClusters(Layer layer, int zoom,
+                                             double minLat, double minLon, double maxLat, double maxLon) {
+        ClusterGrid grid = layer == Layer.BINS ? binClusters : reportClusters;
+        return grid.query(zoom, minLat, minLon, maxLat, maxLon).stream()
+                .map(c -> ClusterResponse.builder()
+                        .count(c.count())
+                        .latitude(c.latitude())
+                        .longitude(c.longitude())
+                        .id(c.id())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
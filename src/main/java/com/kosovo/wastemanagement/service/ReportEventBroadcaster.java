@@ -0,0 +1,296 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.dto.ReportEventResponse;
+import com.kosovo.wastemanagement.event.ReportAssignedEvent;
+import com.kosovo.wastemanagement.event.ReportCreatedEvent;
+import com.kosovo.wastemanagement.event.ReportStatusChangedEvent;
+import com.kosovo.wastemanagement.model.Report;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans report events out to Server-Sent Events subscribers. Idle connections are parked async
+ * requests and hold no thread. Publishing only enqueues: each subscriber has a small bounded
+ * queue drained by a shared writer pool, and a subscriber that falls behind is disconnected
+ * and catches up through Last-Event-ID on reconnect.
+ */
+@Component
+@Slf4j
+public class ReportEventBroadcaster {
+
+    public static final String REPORT_CREATED = "report-created";
+    public static final String REPORT_STATUS_CHANGED = "report-status-changed";
+    public static final String REPORT_ASSIGNED = "report-assigned";
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    // Recent events for replay after a reconnect
+    private final Deque<StreamEvent> recent = new ArrayDeque<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor writers;
+
+    @Value("${app.events.sse-timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.events.subscriber-queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.events.replay-size:500}")
+    private int replaySize;
+
+    @Value("${app.events.max-drain-ms:10000}")
+    private long maxDrainMs;
+
+    public ReportEventBroadcaster(@Value("${app.events.writer-threads:2}") int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        // At most one drain task per subscriber is ever queued, so the queue is bounded by the subscriber count
+        this.writers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "sse-writer-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public SseEmitter subscribe(Filter filter, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(UUID.randomUUID().toString(), emitter, filter,
+                new ArrayBlockingQueue<>(queueCapacity));
+        emitter.onCompletion(() -> {
+            subscriber.completed().set(true);
+            close(subscriber);
+        });
+        emitter.onTimeout(() -> {
+            close(subscriber);
+            subscriber.completed().set(true);
+            emitter.complete();
+        });
+        emitter.onError(e -> {
+            subscriber.completed().set(true);
+            close(subscriber);
+        });
+        subscribers.put(subscriber.id(), subscriber);
+
+        if (lastEventId != null) {
+            for (StreamEvent event : recentSince(lastEventId)) {
+                if (filter.matches(event.payload())) {
+                    enqueue(subscriber, event);
+                }
+            }
+        }
+        // Flushes the response headers so the client sees the stream open straight away
+        enqueue(subscriber, StreamEvent.HEARTBEAT);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onReportCreated(ReportCreatedEvent event) {
+        publish(REPORT_CREATED, ReportEventResponse.builder()
+                .reportId(event.reportId())
+                .title(event.title())
+                .type(event.type())
+                .status(event.status())
+                .priority(event.priority())
+                .areaId(event.areaId())
+                .assignedWorkerId(event.assignedWorkerId())
+                .latitude(event.latitude())
+                .longitude(event.longitude())
+                .occurredAt(event.createdAt())
+                .build());
+    }
+
+    @TransactionalEventListener
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        publish(REPORT_STATUS_CHANGED, ReportEventResponse.builder()
+                .reportId(event.reportId())
+                .type(event.type())
+                .status(event.status())
+                .previousStatus(event.previousStatus())
+                .priority(event.priority())
+                .areaId(event.areaId())
+                .assignedWorkerId(event.assignedWorkerId())
+                .previousAssignedWorkerId(event.previousAssignedWorkerId())
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    // Reassignments by an admin or the rebalancer
+    @TransactionalEventListener
+    public void onReportAssigned(ReportAssignedEvent event) {
+        publish(REPORT_ASSIGNED, ReportEventResponse.builder()
+                .reportId(event.reportId())
+                .type(event.type())
+                .status(event.status())
+                .priority(event.priority())
+                .areaId(event.areaId())
+                .assignedWorkerId(event.workerId())
+                .previousAssignedWorkerId(event.previousWorkerId())
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    // Keeps proxies from closing idle streams and finds clients that went away or stopped reading
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers.values()) {
+            long startedAt = subscriber.drainStartedAt().get();
+            if (startedAt != 0 && now - startedAt > maxDrainMs) {
+                // A blocked write holds one of the shared writer threads
+                log.debug("SSE subscriber {} stalled for {} ms, disconnecting", subscriber.id(), now - startedAt);
+                disconnect(subscriber);
+            } else {
+                enqueue(subscriber, StreamEvent.HEARTBEAT);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void publish(String name, ReportEventResponse payload) {
+        StreamEvent event = new StreamEvent(sequence.incrementAndGet(), name, payload);
+        synchronized (recent) {
+            recent.addLast(event);
+            while (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+        }
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.filter().matches(payload)) {
+                enqueue(subscriber, event);
+            }
+        }
+    }
+
+    private List<StreamEvent> recentSince(long lastEventId) {
+        synchronized (recent) {
+            return recent.stream().filter(event -> event.id() > lastEventId).toList();
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, StreamEvent event) {
+        if (!subscriber.queue().offer(event)) {
+            log.debug("SSE subscriber {} fell behind, disconnecting", subscriber.id());
+            disconnect(subscriber);
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining().compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Runs on the writer pool; one drain per subscriber at a time keeps its events in order
+    private void drain(Subscriber subscriber) {
+        subscriber.drainStartedAt().set(System.currentTimeMillis());
+        try {
+            StreamEvent event;
+            while (!subscriber.closed().get() && (event = subscriber.queue().poll()) != null) {
+                if (event == StreamEvent.HEARTBEAT) {
+                    subscriber.emitter().send(SseEmitter.event().comment("ping"));
+                } else {
+                    subscriber.emitter().send(SseEmitter.event()
+                            .id(Long.toString(event.id()))
+                            .name(event.name())
+                            .data(event.payload()));
+                }
+            }
+            if (subscriber.closed().get() && subscriber.completed().compareAndSet(false, true)) {
+                subscriber.emitter().complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The container completes an emitter whose send failed
+            subscriber.completed().set(true);
+            close(subscriber);
+        } finally {
+            subscriber.drainStartedAt().set(0);
+            subscriber.draining().set(false);
+        }
+        boolean pending = subscriber.closed().get()
+                ? !subscriber.completed().get()
+                : !subscriber.queue().isEmpty();
+        if (pending) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Stops delivering to the subscriber. The emitter is completed by the writer pool, or by the
+     * async timeout if a send is stuck: complete() waits behind a send in progress, so calling it
+     * here would block the heartbeat or publishing thread.
+     */
+    private void disconnect(Subscriber subscriber) {
+        if (close(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    private boolean close(Subscriber subscriber) {
+        if (!subscriber.closed().compareAndSet(false, true)) {
+            return false;
+        }
+        subscribers.remove(subscriber.id());
+        subscriber.queue().clear();
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(this::disconnect);
+        writers.shutdown();
+    }
+
+    /**
+     * Subscription filter; null fields match everything. A status filter matches reports entering
+     * or leaving that status, and a worker filter reports assigned to or taken from that worker.
+     */
+    public record Filter(Long areaId, Report.ReportStatus status, Long assignedWorkerId) {
+
+        boolean matches(ReportEventResponse event) {
+            return (areaId == null || areaId.equals(event.getAreaId()))
+                    && (status == null || status == event.getStatus() || status == event.getPreviousStatus())
+                    && (assignedWorkerId == null || assignedWorkerId.equals(event.getAssignedWorkerId())
+                            || assignedWorkerId.equals(event.getPreviousAssignedWorkerId()));
+        }
+    }
+
+    private record StreamEvent(long id, String name, ReportEventResponse payload) {
+        static final StreamEvent HEARTBEAT = new StreamEvent(0, null, null);
+    }
+
+    private record Subscriber(String id, SseEmitter emitter, Filter filter, BlockingQueue<StreamEvent> queue,
+                              AtomicBoolean draining, AtomicLong drainStartedAt, AtomicBoolean closed,
+                              AtomicBoolean completed) {
+
+        Subscriber(String id, SseEmitter emitter, Filter filter, BlockingQueue<StreamEvent> queue) {
+            this(id, emitter, filter, queue, new AtomicBoolean(), new AtomicLong(), new AtomicBoolean(),
+                    new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.kosovo.wastemanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kosovo.wastemanagement.model.Report;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams reports straight from a forward-only JDBC cursor into the response. Rows are written
+ * as they arrive and never collected, so heap use does not depend on the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] COLUMNS = {
+            "id", "title", "description", "type", "status", "priority", "latitude", "longitude", "address",
+            "area_id", "area_name", "reporter_id", "assigned_worker_id", "duplicate_of_id",
+            "created_at", "updated_at", "resolved_at"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Writes reports created between {@code from} and {@code to} (inclusive days, both optional)
+     * in creation order. Output is gzip-compressed when {@code gzip} is set.
+     */
+    public long export(OutputStream out, Format format, LocalDate from, LocalDate to,
+                       Collection<Report.ReportStatus> statuses, boolean gzip) throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT r.id, r.title, r.description, r.type, r.status, r.priority, r.latitude, r.longitude, " +
+                "r.address, r.area_id, a.name AS area_name, r.reporter_id, r.assigned_worker_id, r.duplicate_of_id, " +
+                "r.created_at, r.updated_at, r.resolved_at FROM reports r LEFT JOIN areas a ON a.id = r.area_id WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND r.created_at >= ?");
+            params.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            sql.append(" AND r.created_at < ?");
+            params.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            sql.append(" AND r.status IN (").append(String.join(", ", Collections.nCopies(statuses.size(), "?"))).append(")");
+            statuses.forEach(status -> params.add(status.name()));
+        }
+        sql.append(" ORDER BY r.created_at, r.id");
+
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == Format.CSV) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Connector/J streams row by row instead of buffering the whole result
+                statement.setFetchSize(Integer.MIN_VALUE);
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    if (format == Format.CSV) {
+                        writeCsvRow(writer, rs);
+                    } else {
+                        writeJsonRow(writer, rs);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; stop reading the cursor
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+        log.info("Exported {} reports as {}", rows[0], format);
+        return rows[0];
+    }
+
+    private static void writeCsvRow(Writer writer, ResultSet rs) throws SQLException, IOException {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(text(rs.getObject(i + 1))));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeJsonRow(Writer writer, ResultSet rs) throws SQLException, IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            Object value = rs.getObject(i + 1);
+            row.put(COLUMNS[i], value instanceof Number ? value : text(value));
+        }
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+
+    // Timestamps come back as Timestamp or LocalDateTime depending on the driver version; both become ISO text
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return value.toString();
+    }
+
+    // RFC 4180 quoting; text that a spreadsheet would run as a formula is prefixed with a quote
+    private static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            if (!isNumber(value)) {
+                value = "'" + value;
+            }
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private static boolean isNumber(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package com.kosovo.wastemanagement.service;
 
 import com.kosovo.wastemanagement.dto.*;
+import com.kosovo.wastemanagement.event.ReportAssignedEvent;
+import com.kosovo.wastemanagement.event.ReportCreatedEvent;
+import com.kosovo.wastemanagement.event.ReportImagesStoredEvent;
+import com.kosovo.wastemanagement.event.ReportStatusChangedEvent;
 import com.kosovo.wastemanagement.model.*;
 import com.kosovo.wastemanagement.repository.AreaRepository;
+import com.kosovo.wastemanagement.repository.ReportImageRepository;
+import com.kosovo.wastemanagement.repository.ReportPoint;
 import com.kosovo.wastemanagement.repository.ReportRepository;
+import com.kosovo.wastemanagement.repository.ReportSearchHit;
 import com.kosovo.wastemanagement.repository.UserRepository;
 import com.kosovo.wastemanagement.security.UserPrincipal;
+import com.kosovo.wastemanagement.util.FullTextQuery;
+import com.kosovo.wastemanagement.util.GeoUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -17,11 +31,18 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -34,10 +55,26 @@ public class ReportService {
     private final ReportRepository reportRepository;
     private final UserRepository userRepository;
     private final AreaRepository areaRepository;
+    private final AreaLocator areaLocator;
     private final FileStorageService fileStorageService;
+    private final ReportImageRepository reportImageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UploadService uploadService;
+    private final DuplicateReportIndex duplicateReportIndex;
+    private final WorkerAssignmentEngine workerAssignmentEngine;
 
     private static final String UPLOAD_DIR = "uploads/reports/";
 
+    @Value("${app.storage.content-addressed:true}")
+    private boolean contentAddressedStorage;
+
+    @Value("${app.duplicates.max-candidates:5}")
+    private int maxDuplicateCandidates;
+
+    // Merged duplicates are closed on arrival and only point at the report that stays open
+    @Value("${app.duplicates.merge:false}")
+    private boolean mergeDuplicates;
+
     public ReportResponse createReport(ReportRequest reportRequest, List<MultipartFile> images) {
         UserPrincipal userPrincipal = getCurrentUser();
         User reporter = userRepository.findById(userPrincipal.getId())
@@ -55,39 +92,147 @@ public class ReportService {
                 .reporter(reporter)
                 .build();
 
-        // Find the area based on coordinates (simplified - in real app, use spatial queries)
-        Area area = findAreaByCoordinates(reportRequest.getLatitude(), reportRequest.getLongitude());
-        if (area != null) {
-            report.setArea(area);
+        areaLocator.locate(reportRequest.getLatitude(), reportRequest.getLongitude())
+                .map(areaRepository::getReferenceById)
+                .ifPresent(report::setArea);
+
+        List<DuplicateReportIndex.Match> duplicates = duplicateReportIndex.findCandidates(reportRequest.getType(),
+                reportRequest.getLatitude(), reportRequest.getLongitude(), LocalDateTime.now(), maxDuplicateCandidates);
+        if (!duplicates.isEmpty()) {
+            report.setDuplicateOfId(duplicates.get(0).reportId());
+            if (mergeDuplicates) {
+                report.setStatus(Report.ReportStatus.CLOSED);
+                report.setResolvedAt(LocalDateTime.now());
+            }
+        }
+
+        if (report.getStatus() == Report.ReportStatus.PENDING) {
+            workerAssignmentEngine.assign(report.getArea() != null ? report.getArea().getId() : null,
+                            report.getPriority(), report.getLatitude(), report.getLongitude())
+                    .map(userRepository::getReferenceById)
+                    .ifPresent(worker -> {
+                        report.setAssignedWorker(worker);
+                        report.setAutoAssigned(true);
+                    });
         }
 
         Report savedReport = reportRepository.save(report);
 
-        // Handle image uploads
-        if (images != null && !images.isEmpty()) {
-            List<ReportImage> reportImages = images.stream()
-                    .map(image -> saveReportImage(savedReport, image))
-                    .collect(Collectors.toList());
+        // Handle image uploads; thumbnails and web variants are generated after commit
+        List<ReportImage> reportImages = new ArrayList<>();
+        if (images != null) {
+            images.forEach(image -> reportImages.add(saveReportImage(savedReport, image)));
+        }
+        if (reportRequest.getUploadIds() != null) {
+            reportImages.addAll(uploadService.consumeUploads(reportRequest.getUploadIds(), savedReport));
+        }
+        if (!reportImages.isEmpty()) {
+            reportImages.replaceAll(reportImageRepository::save);
             savedReport.setImages(reportImages);
+            eventPublisher.publishEvent(new ReportImagesStoredEvent(
+                    reportImages.stream().map(ReportImage::getId).collect(Collectors.toList())));
         }
+        eventPublisher.publishEvent(ReportCreatedEvent.of(savedReport));
 
-        return mapToReportResponse(savedReport);
+        ReportResponse response = mapToReportResponse(savedReport);
+        response.setDuplicateCandidates(mapDuplicateCandidates(duplicates));
+        return response;
     }
 
     public Page<ReportResponse> getReports(Report.ReportStatus status, Long areaId, 
                                           Report.ReportPriority priority, Pageable pageable) {
         Page<Report> reports = reportRepository.findReportsWithFilters(status, areaId, priority, pageable);
+        fetchResponseAssociations(reports.getContent());
         return reports.map(this::mapToReportResponse);
     }
 
+    public CursorPageResponse<ReportResponse> getReportsByCursor(Report.ReportStatus status, Long areaId,
+                                                                 Report.ReportPriority priority, String cursor,
+                                                                 int size, boolean includeTotal) {
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] position = decodeCursor(cursor);
+                afterCreatedAt = LocalDateTime.parse(position[0]);
+                afterId = Long.parseLong(position[1]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Report> reports = reportRepository.findReportsAfter(status, areaId, priority, afterCreatedAt, afterId, size + 1);
+        boolean hasNext = reports.size() > size;
+        if (hasNext) {
+            reports = reports.subList(0, size);
+        }
+        Report last = reports.isEmpty() ? null : reports.get(reports.size() - 1);
+        fetchResponseAssociations(reports);
+
+        return CursorPageResponse.<ReportResponse>builder()
+                .content(reports.stream().map(this::mapToReportResponse).collect(Collectors.toList()))
+                .size(reports.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(last) : null)
+                .totalElements(includeTotal ? reportRepository.countReportsWithFilters(status, areaId, priority) : null)
+                .build();
+    }
+
+    private static String encodeCursor(Report report) {
+        String position = report.getCreatedAt() + "|" + report.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = position.split("\\|", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return parts;
+    }
+
     public ReportResponse getReportById(Long id) {
-        Report report = reportRepository.findById(id)
+        Report report = reportRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
         return mapToReportResponse(report);
     }
 
+    /**
+     * Resolves a stored image file for download. Variants that are not generated yet fall back to
+     * the original and are marked as not immutable, so caches revalidate until the variant exists.
+     */
+    public ImageFile getReportImageFile(Long reportId, Long imageId, ImageVariant variant) {
+        ReportImage image = reportImageRepository.findById(imageId)
+                .filter(i -> i.getReport().getId().equals(reportId))
+                .orElseThrow(() -> new RuntimeException("Image not found"));
+
+        boolean ready = image.getProcessingStatus() == ReportImage.ProcessingStatus.READY;
+        ImageVariant served = ready ? variant : ImageVariant.ORIGINAL;
+        Path path = Paths.get(switch (served) {
+            case THUMBNAIL -> image.getThumbnailPath();
+            case WEB -> image.getWebPath();
+            case ORIGINAL -> image.getFilePath();
+        });
+        String contentType = served == ImageVariant.ORIGINAL ? image.getContentType() : "image/jpeg";
+        try {
+            long size = Files.size(path);
+            // Content-addressed files are named by their hash; legacy files by a UUID and never rewritten
+            String etag = image.getContentHash() != null
+                    ? "\"" + image.getContentHash() + "-" + served.name().toLowerCase() + "\""
+                    : "\"" + image.getId() + "-" + served.name().toLowerCase() + "-" + size + "-"
+                            + Files.getLastModifiedTime(path).toMillis() + "\"";
+            return new ImageFile(path, contentType, size, etag, served == variant);
+        } catch (IOException e) {
+            log.error("Stored image {} is not readable: {}", imageId, e.getMessage());
+            throw new RuntimeException("Image not found");
+        }
+    }
+
     public List<ReportResponse> getReportsByUser(Long userId) {
         List<Report> reports = reportRepository.findByReporterId(userId);
+        fetchResponseAssociations(reports);
         return reports.stream()
                 .map(this::mapToReportResponse)
                 .collect(Collectors.toList());
@@ -97,6 +242,8 @@ public class ReportService {
         Report report = reportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
 
+        Report.ReportStatus previousStatus = report.getStatus();
+        Long previousWorkerId = report.getAssignedWorker() != null ? report.getAssignedWorker().getId() : null;
         report.setStatus(status);
         report.setUpdatedAt(LocalDateTime.now());
 
@@ -108,21 +255,123 @@ public class ReportService {
             User worker = userRepository.findById(assignedWorkerId)
                     .orElseThrow(() -> new RuntimeException("Worker not found"));
             report.setAssignedWorker(worker);
+            report.setAutoAssigned(false);
         }
 
         Report updatedReport = reportRepository.save(report);
+        Long workerId = updatedReport.getAssignedWorker() != null ? updatedReport.getAssignedWorker().getId() : null;
+        if (previousStatus != status) {
+            eventPublisher.publishEvent(ReportStatusChangedEvent.of(updatedReport, previousStatus, previousWorkerId));
+        } else if (!Objects.equals(previousWorkerId, workerId)) {
+            eventPublisher.publishEvent(ReportAssignedEvent.of(updatedReport, previousWorkerId));
+        }
         return mapToReportResponse(updatedReport);
     }
 
-    public List<ReportResponse> getReportsNearLocation(Double latitude, Double longitude, Double radiusKm) {
-        List<Report> reports = reportRepository.findReportsNearLocation(latitude, longitude, radiusKm);
-        return reports.stream()
-                .map(this::mapToReportResponse)
+    public Page<ReportResponse> getReportsNearLocation(double latitude, double longitude, double radiusKm,
+                                                       Report.ReportStatus status, Report.ReportType type,
+                                                       Pageable pageable) {
+        double radiusMeters = radiusKm * 1000;
+        // Bounding-box prefilter on the location index, then an exact great-circle refine
+        double dLat = radiusMeters / GeoUtils.METERS_PER_DEGREE_LAT;
+        double dLon = radiusMeters / Math.max(GeoUtils.metersPerDegreeLon(latitude), 1.0);
+        List<ReportPoint> candidates = reportRepository.findPointsInBox(
+                latitude - dLat, latitude + dLat, longitude - dLon, longitude + dLon, status, type);
+
+        // Max-heap on distance holding only the nearest offset + size matches
+        Comparator<Neighbour> nearestFirst = Comparator.comparingDouble(Neighbour::distanceMeters)
+                .thenComparing(Neighbour::id);
+        PriorityQueue<Neighbour> nearest = new PriorityQueue<>(nearestFirst.reversed());
+        long limit = pageable.getOffset() + pageable.getPageSize();
+        int total = 0;
+        for (ReportPoint point : candidates) {
+            double d = GeoUtils.distanceMeters(latitude, longitude, point.latitude(), point.longitude());
+            if (d > radiusMeters) {
+                continue;
+            }
+            total++;
+            Neighbour neighbour = new Neighbour(point.id(), d);
+            if (nearest.size() < limit) {
+                nearest.add(neighbour);
+            } else if (nearestFirst.compare(neighbour, nearest.peek()) < 0) {
+                nearest.poll();
+                nearest.add(neighbour);
+            }
+        }
+        List<Neighbour> sorted = new ArrayList<>(nearest);
+        sorted.sort(nearestFirst);
+
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        List<Neighbour> page = sorted.subList(from, sorted.size());
+        if (page.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+        Map<Long, Double> distances = page.stream()
+                .collect(Collectors.toMap(Neighbour::id, Neighbour::distanceMeters));
+        List<Long> pageIds = page.stream().map(Neighbour::id).collect(Collectors.toList());
+
+        Map<Long, Report> reportsById = reportRepository.findWithAssociationsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Report::getId, r -> r));
+        reportRepository.findWithImagesByIdIn(pageIds);
+        List<ReportResponse> content = pageIds.stream()
+                .map(reportsById::get)
+                .filter(Objects::nonNull)
+                .map(report -> {
+                    ReportResponse response = mapToReportResponse(report);
+                    response.setDistanceMeters(distances.get(report.getId()));
+                    return response;
+                })
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Full-text search over title, description and address. Every word must match, as a prefix.
+     * No total is counted, so the cost depends on the matches read, not on the table size.
+     */
+    public Slice<ReportResponse> searchReports(String text, Report.ReportStatus status, Long areaId, Pageable pageable) {
+        String query = FullTextQuery.toBooleanMode(text);
+        if (query == null) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        // One extra hit tells whether another page exists
+        List<ReportSearchHit> hits = reportRepository.searchReports(query, status, areaId,
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = hits.size() > pageable.getPageSize();
+        List<ReportSearchHit> pageHits = hasNext ? hits.subList(0, pageable.getPageSize()) : hits;
+        if (pageHits.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        List<Long> pageIds = pageHits.stream().map(ReportSearchHit::id).collect(Collectors.toList());
+        Map<Long, Report> reportsById = reportRepository.findWithAssociationsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Report::getId, r -> r));
+        reportRepository.findWithImagesByIdIn(pageIds);
+        List<ReportResponse> content = pageHits.stream()
+                .filter(hit -> reportsById.containsKey(hit.id()))
+                .map(hit -> {
+                    ReportResponse response = mapToReportResponse(reportsById.get(hit.id()));
+                    response.setScore(hit.score());
+                    return response;
+                })
                 .collect(Collectors.toList());
+        return new SliceImpl<>(content, pageable, hasNext);
     }
 
     private ReportImage saveReportImage(Report report, MultipartFile image) {
         try {
+            if (contentAddressedStorage) {
+                FileStorageService.StoredBlob blob = fileStorageService.storeBlob(image);
+                return ReportImage.builder()
+                        .fileName(displayName(image.getOriginalFilename()))
+                        .filePath(blob.path())
+                        .contentHash(blob.hash())
+                        .contentType(image.getContentType())
+                        .fileSize(blob.size())
+                        .report(report)
+                        .build();
+            }
+
             String fileName = UUID.randomUUID().toString() + "_" + image.getOriginalFilename();
             String filePath = fileStorageService.storeFile(image, UPLOAD_DIR, fileName);
 
@@ -139,20 +388,23 @@ public class ReportService {
         }
     }
 
-    private Area findAreaByCoordinates(Double latitude, Double longitude) {
-        // Simplified area finding - in real app, use spatial queries
-        List<Area> areas = areaRepository.findAll();
-        return areas.stream()
-                .filter(area -> area.getCenterLatitude() != null && area.getCenterLongitude() != null)
-                .filter(area -> isWithinRadius(latitude, longitude, area.getCenterLatitude(), area.getCenterLongitude(), 5.0)) // 5km radius
-                .findFirst()
-                .orElse(null);
+    private static String displayName(String originalFilename) {
+        if (originalFilename == null || originalFilename.isBlank()) {
+            return "image";
+        }
+        String name = Paths.get(originalFilename).getFileName().toString();
+        return name.length() > 255 ? name.substring(name.length() - 255) : name;
     }
 
-    private boolean isWithinRadius(Double lat1, Double lon1, Double lat2, Double lon2, Double radiusKm) {
-        // Simplified distance calculation - in real app, use proper geographic calculations
-        double distance = Math.sqrt(Math.pow(lat1 - lat2, 2) + Math.pow(lon1 - lon2, 2)) * 111; // rough conversion to km
-        return distance <= radiusKm;
+    // Initializes everything mapToReportResponse touches in two queries, whatever the list size.
+    // The reports are already managed, so the fetched associations attach to the same instances.
+    private void fetchResponseAssociations(List<Report> reports) {
+        if (reports.isEmpty()) {
+            return;
+        }
+        List<Long> ids = reports.stream().map(Report::getId).collect(Collectors.toList());
+        reportRepository.findWithAssociationsByIdIn(ids);
+        reportRepository.findWithImagesByIdIn(ids);
     }
 
     private ReportResponse mapToReportResponse(Report report) {
@@ -172,12 +424,36 @@ public class ReportService {
                 .createdAt(report.getCreatedAt())
                 .updatedAt(report.getUpdatedAt())
                 .resolvedAt(report.getResolvedAt())
+                .duplicateOfId(report.getDuplicateOfId())
                 .images(report.getImages() != null ? report.getImages().stream()
                         .map(this::mapToReportImageResponse)
                         .collect(Collectors.toList()) : null)
                 .build();
     }
 
+    private List<DuplicateCandidateResponse> mapDuplicateCandidates(List<DuplicateReportIndex.Match> matches) {
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Report> reports = reportRepository.findAllById(
+                        matches.stream().map(DuplicateReportIndex.Match::reportId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Report::getId, r -> r));
+        return matches.stream()
+                .filter(match -> reports.containsKey(match.reportId()))
+                .map(match -> {
+                    Report report = reports.get(match.reportId());
+                    return DuplicateCandidateResponse.builder()
+                            .reportId(report.getId())
+                            .title(report.getTitle())
+                            .status(report.getStatus())
+                            .distanceMeters(match.distanceMeters())
+                            .createdAt(report.getCreatedAt())
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
     private UserResponse mapToUserResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
@@ -207,12 +483,20 @@ public class ReportService {
     }
 
     private ReportImageResponse mapToReportImageResponse(ReportImage image) {
+        String url = "/api/reports/" + image.getReport().getId() + "/images/" + image.getId();
         return ReportImageResponse.builder()
+                .url(url)
+                .thumbnailUrl(image.getProcessingStatus() == ReportImage.ProcessingStatus.READY
+                        ? url + "?variant=THUMBNAIL" : url)
                 .id(image.getId())
                 .fileName(image.getFileName())
-                .filePath(image.getFilePath())
                 .contentType(image.getContentType())
                 .fileSize(image.getFileSize())
+                .width(image.getWidth())
+                .height(image.getHeight())
+                .processingStatus(image.getProcessingStatus())
+                .thumbnailSize(image.getThumbnailSize())
+                .webSize(image.getWebSize())
                 .build();
     }
 
@@ -233,4 +517,16 @@ public class ReportService {
         UserPrincipal userPrincipal = (UserPrincipal) principal;
         return userPrincipal.getId() != null && userPrincipal.getId().equals(userId);
     }
+
+    public enum ImageVariant {
+        ORIGINAL,
+        THUMBNAIL,
+        WEB
+    }
+
+    public record ImageFile(Path path, String contentType, long size, String etag, boolean immutable) {
+    }
+
+    private record Neighbour(Long id, double distanceMeters) {
+    }
 }
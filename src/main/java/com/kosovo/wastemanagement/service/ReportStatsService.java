@@ -0,0 +1,152 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.dto.ReportStatsResponse;
+import com.kosovo.wastemanagement.event.ReportCreatedEvent;
+import com.kosovo.wastemanagement.event.ReportStatusChangedEvent;
+import com.kosovo.wastemanagement.model.Report;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Report counters by status, kept per area, type, priority and creation day in report_stats.
+ * Counters change in the same transaction as the report, so the dashboard reads a few hundred
+ * rows instead of scanning reports.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportStatsService {
+
+    private static final String INCREMENT_SQL =
+            "INSERT INTO report_stats (dimension, dim_key, status, report_count) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE report_count = report_count + VALUES(report_count)";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO report_stats (dimension, dim_key, status, report_count) " +
+            "SELECT 'TOTAL', 'all', status, COUNT(*) FROM reports GROUP BY status " +
+            "UNION ALL SELECT 'AREA', COALESCE(CAST(area_id AS CHAR), 'none'), status, COUNT(*) FROM reports GROUP BY area_id, status " +
+            "UNION ALL SELECT 'TYPE', type, status, COUNT(*) FROM reports GROUP BY type, status " +
+            "UNION ALL SELECT 'PRIORITY', priority, status, COUNT(*) FROM reports GROUP BY priority, status " +
+            "UNION ALL SELECT 'DAY', DATE_FORMAT(created_at, '%Y-%m-%d'), status, COUNT(*) FROM reports " +
+            "GROUP BY DATE_FORMAT(created_at, '%Y-%m-%d'), status";
+
+    private static final String NO_AREA = "none";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void load() {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM report_stats", Integer.class);
+        if (rows != null && rows == 0) {
+            rebuild();
+        }
+    }
+
+    // Applied right before commit so the counters commit or roll back with the report, while
+    // the shared counter rows stay locked only for the commit itself and not for image writes
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReportCreated(ReportCreatedEvent event) {
+        List<Object[]> rows = new ArrayList<>();
+        for (String[] key : counterKeys(event.areaId(), event.type(), event.priority(), event.createdAt())) {
+            rows.add(new Object[]{key[0], key[1], event.status().name(), 1});
+        }
+        update(rows);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        List<Object[]> rows = new ArrayList<>();
+        for (String[] key : counterKeys(event.areaId(), event.type(), event.priority(), event.createdAt())) {
+            rows.add(new Object[]{key[0], key[1], event.previousStatus().name(), -1});
+            rows.add(new Object[]{key[0], key[1], event.status().name(), 1});
+        }
+        update(rows);
+    }
+
+    /**
+     * Recomputes every counter from the reports table.
+     */
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM report_stats");
+        int rows = jdbcTemplate.update(REBUILD_SQL);
+        log.info("Rebuilt report statistics with {} counters", rows);
+    }
+
+    @Transactional(readOnly = true)
+    public ReportStatsResponse getStats(int days) {
+        String fromDay = LocalDate.now().minusDays(Math.max(days, 1) - 1L).toString();
+        Map<Report.ReportStatus, Long> byStatus = new EnumMap<>(Report.ReportStatus.class);
+        Map<String, Map<Report.ReportStatus, Long>> byArea = new TreeMap<>();
+        Map<String, Map<Report.ReportStatus, Long>> byType = new TreeMap<>();
+        Map<String, Map<Report.ReportStatus, Long>> byPriority = new TreeMap<>();
+        Map<String, Map<Report.ReportStatus, Long>> byDay = new TreeMap<>();
+
+        jdbcTemplate.query("SELECT dimension, dim_key, status, report_count FROM report_stats " +
+                "WHERE report_count <> 0 AND (dimension <> 'DAY' OR dim_key >= ?)", (RowCallbackHandler) rs -> {
+            Report.ReportStatus status = Report.ReportStatus.valueOf(rs.getString("status"));
+            long count = rs.getLong("report_count");
+            String key = rs.getString("dim_key");
+            Map<String, Map<Report.ReportStatus, Long>> target = switch (rs.getString("dimension")) {
+                case "TOTAL" -> null;
+                case "AREA" -> byArea;
+                case "TYPE" -> byType;
+                case "PRIORITY" -> byPriority;
+                default -> byDay;
+            };
+            if (target == null) {
+                byStatus.put(status, count);
+            } else {
+                target.computeIfAbsent(key, k -> new EnumMap<>(Report.ReportStatus.class)).put(status, count);
+            }
+        }, fromDay);
+
+        return ReportStatsResponse.builder()
+                .total(byStatus.values().stream().mapToLong(Long::longValue).sum())
+                .byStatus(byStatus)
+                .byArea(byArea)
+                .byType(byType)
+                .byPriority(byPriority)
+                .byDay(byDay)
+                .build();
+    }
+
+    // Rows are written in key order so concurrent report transactions lock counters in the same order
+    private void update(List<Object[]> rows) {
+        rows.sort(Comparator.comparing((Object[] row) -> (String) row[0])
+                .thenComparing(row -> (String) row[1])
+                .thenComparing(row -> (String) row[2]));
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, rows);
+    }
+
+    private static List<String[]> counterKeys(Long areaId, Report.ReportType type, Report.ReportPriority priority,
+                                              LocalDateTime createdAt) {
+        List<String[]> keys = new ArrayList<>();
+        keys.add(new String[]{"TOTAL", "all"});
+        keys.add(new String[]{"AREA", areaId != null ? areaId.toString() : NO_AREA});
+        keys.add(new String[]{"TYPE", type.name()});
+        keys.add(new String[]{"PRIORITY", priority.name()});
+        if (createdAt != null) {
+            keys.add(new String[]{"DAY", createdAt.toLocalDate().toString()});
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,195 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.dto.RouteResponse;
+import com.kosovo.wastemanagement.dto.RouteStopResponse;
+import com.kosovo.wastemanagement.model.Area;
+import com.kosovo.wastemanagement.model.Bin;
+import com.kosovo.wastemanagement.model.Report;
+import com.kosovo.wastemanagement.model.User;
+import com.kosovo.wastemanagement.repository.ReportRepository;
+import com.kosovo.wastemanagement.repository.UserRepository;
+import com.kosovo.wastemanagement.util.GeoUtils;
+import com.kosovo.wastemanagement.util.RouteOptimizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds collection routes for workers. All stops are loaded up front in the request thread;
+ * the optimisation itself is pure computation and runs on the common fork/join pool, one task per worker.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class RoutePlanningService {
+
+    private static final Set<Report.ReportType> ROUTED_REPORT_TYPES =
+            EnumSet.of(Report.ReportType.OVERFLOWING_BIN, Report.ReportType.ILLEGAL_DUMP);
+    private static final int MAX_BIN_STOPS = 500;
+
+    private final UserRepository userRepository;
+    private final ReportRepository reportRepository;
+    private final BinSpatialIndex binSpatialIndex;
+    private final AreaLocator areaLocator;
+
+    public RouteResponse planRoute(Long workerId, double fillThreshold, Double startLatitude, Double startLongitude) {
+        User worker = userRepository.findById(workerId)
+                .orElseThrow(() -> new RuntimeException("Worker not found"));
+        if (worker.getAssignedArea() == null) {
+            throw new RuntimeException("Worker has no assigned area");
+        }
+        // The area's stops are shared out between all of its workers, so plan them together
+        Long areaId = worker.getAssignedArea().getId();
+        List<User> workers = userRepository.findActiveWorkersWithArea().stream()
+                .filter(w -> w.getAssignedArea().getId().equals(areaId) && !w.getId().equals(workerId))
+                .collect(Collectors.toCollection(ArrayList::new));
+        workers.add(worker);
+        Map<Long, double[]> starts = startLatitude != null && startLongitude != null
+                ? Map.of(workerId, new double[]{startLatitude, startLongitude})
+                : Map.of();
+        return buildInputs(workers, fillThreshold, starts).stream()
+                .filter(input -> input.workerId().equals(workerId))
+                .findFirst()
+                .map(this::optimize)
+                .orElseThrow(() -> new RuntimeException("Worker not found"));
+    }
+
+    public List<RouteResponse> planAllRoutes(double fillThreshold) {
+        List<User> workers = userRepository.findActiveWorkersWithArea();
+        List<RouteInput> inputs = buildInputs(workers, fillThreshold, Map.of());
+        return inputs.parallelStream()
+                .map(this::optimize)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Each stop goes to exactly one worker: a report to the worker it is assigned to when that
+     * worker is being planned, anything else to the area's worker starting closest to it.
+     * Bins belong to the area that {@link AreaLocator} places them in.
+     */
+    private List<RouteInput> buildInputs(List<User> workers, double fillThreshold, Map<Long, double[]> starts) {
+        Map<Long, List<User>> workersByArea = workers.stream()
+                .collect(Collectors.groupingBy(w -> w.getAssignedArea().getId()));
+        Map<Long, RouteInput> inputsByWorker = new LinkedHashMap<>();
+        for (User worker : workers) {
+            Area area = worker.getAssignedArea();
+            double centerLat = area.getCenterLatitude() != null ? area.getCenterLatitude() : 0.0;
+            double centerLon = area.getCenterLongitude() != null ? area.getCenterLongitude() : 0.0;
+            // Start from the worker's last known location, falling back to the area centre
+            double[] start = starts.getOrDefault(worker.getId(), new double[]{
+                    worker.getLatitude() != null ? worker.getLatitude() : centerLat,
+                    worker.getLongitude() != null ? worker.getLongitude() : centerLon});
+            inputsByWorker.put(worker.getId(), new RouteInput(worker.getId(),
+                    worker.getFirstName() + " " + worker.getLastName(), area.getId(), area.getName(),
+                    start[0], start[1], new ArrayList<>()));
+        }
+
+        Map<Long, List<Bin>> binsByArea = new HashMap<>();
+        for (Bin bin : binSpatialIndex.all()) {
+            if (bin.getFillLevel() == null || bin.getFillLevel() < fillThreshold) {
+                continue;
+            }
+            areaLocator.locate(bin.getLatitude(), bin.getLongitude())
+                    .filter(workersByArea::containsKey)
+                    .ifPresent(areaId -> binsByArea.computeIfAbsent(areaId, k -> new ArrayList<>()).add(bin));
+        }
+        binsByArea.forEach((areaId, bins) -> bins.stream()
+                .sorted(Comparator.comparing(Bin::getFillLevel).reversed())
+                .limit(MAX_BIN_STOPS)
+                .forEach(bin -> addToClosest(workersByArea.get(areaId), inputsByWorker, RouteStopResponse.builder()
+                        .type(RouteStopResponse.StopType.BIN)
+                        .id(bin.getId())
+                        .label(bin.getName() != null ? bin.getName() : bin.getAddress())
+                        .latitude(bin.getLatitude())
+                        .longitude(bin.getLongitude())
+                        .build())));
+
+        for (Report report : reportRepository.findByAreaIdsAndStatusesAndTypes(
+                workersByArea.keySet(), MapClusterService.OPEN_STATUSES, ROUTED_REPORT_TYPES)) {
+            RouteStopResponse stop = RouteStopResponse.builder()
+                    .type(RouteStopResponse.StopType.REPORT)
+                    .id(report.getId())
+                    .label(report.getTitle())
+                    .latitude(report.getLatitude())
+                    .longitude(report.getLongitude())
+                    .build();
+            RouteInput assigned = report.getAssignedWorker() != null
+                    ? inputsByWorker.get(report.getAssignedWorker().getId())
+                    : null;
+            if (assigned != null) {
+                assigned.stops().add(stop);
+            } else {
+                addToClosest(workersByArea.get(report.getArea().getId()), inputsByWorker, stop);
+            }
+        }
+        return new ArrayList<>(inputsByWorker.values());
+    }
+
+    // Ties, e.g. workers without a location all starting at the centre, go to the shorter route
+    private static void addToClosest(List<User> workers, Map<Long, RouteInput> inputsByWorker, RouteStopResponse stop) {
+        RouteInput closest = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (User worker : workers) {
+            RouteInput input = inputsByWorker.get(worker.getId());
+            double d = GeoUtils.distanceMeters(input.startLat(), input.startLon(), stop.getLatitude(), stop.getLongitude());
+            if (d < closestDistance || (d == closestDistance && input.stops().size() < closest.stops().size())) {
+                closest = input;
+                closestDistance = d;
+            }
+        }
+        closest.stops().add(stop);
+    }
+
+    private RouteResponse optimize(RouteInput input) {
+        List<RouteStopResponse> stops = input.stops();
+        double[] latitudes = new double[stops.size()];
+        double[] longitudes = new double[stops.size()];
+        for (int i = 0; i < stops.size(); i++) {
+            latitudes[i] = stops.get(i).getLatitude();
+            longitudes[i] = stops.get(i).getLongitude();
+        }
+        int[] order = RouteOptimizer.optimize(input.startLat(), input.startLon(), latitudes, longitudes);
+
+        List<RouteStopResponse> ordered = new ArrayList<>(order.length);
+        double total = 0;
+        double lat = input.startLat();
+        double lon = input.startLon();
+        for (int i = 0; i < order.length; i++) {
+            RouteStopResponse stop = stops.get(order[i]);
+            double leg = GeoUtils.distanceMeters(lat, lon, stop.getLatitude(), stop.getLongitude());
+            total += leg;
+            stop.setSequence(i + 1);
+            stop.setDistanceFromPreviousMeters(leg);
+            ordered.add(stop);
+            lat = stop.getLatitude();
+            lon = stop.getLongitude();
+        }
+
+        return RouteResponse.builder()
+                .workerId(input.workerId())
+                .workerName(input.workerName())
+                .areaId(input.areaId())
+                .areaName(input.areaName())
+                .startLatitude(input.startLat())
+                .startLongitude(input.startLon())
+                .totalDistanceMeters(total)
+                .stops(ordered)
+                .build();
+    }
+
+    private record RouteInput(Long workerId, String workerName, Long areaId, String areaName,
+                              double startLat, double startLon, List<RouteStopResponse> stops) {
+    }
+}
@@ -0,0 +1,324 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.dto.UploadResponse;
+import com.kosovo.wastemanagement.dto.UploadStartRequest;
+import com.kosovo.wastemanagement.model.Report;
+import com.kosovo.wastemanagement.model.ReportImage;
+import com.kosovo.wastemanagement.model.Upload;
+import com.kosovo.wastemanagement.repository.UploadRepository;
+import com.kosovo.wastemanagement.security.UserPrincipal;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable uploads for report photos. Chunks are written in place at their offset into one
+ * temporary file, so nothing is re-sent or re-assembled after a dropped connection, and the
+ * SHA-256 is carried forward chunk by chunk. On commit the file moves into the content-addressed
+ * store; the reference it takes there passes to the report image that later consumes it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class UploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UploadRepository uploadRepository;
+    private final FileStorageService fileStorageService;
+
+    // Running digests of open uploads; rebuilt from the temp file if lost on restart
+    private final Map<String, MessageDigest> digests = new ConcurrentHashMap<>();
+    private final Set<String> writing = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.uploads.max-size-bytes:20971520}")
+    private long maxSizeBytes;
+
+    @Value("${app.uploads.max-chunk-bytes:5242880}")
+    private long maxChunkBytes;
+
+    @Value("${app.uploads.expiry-hours:24}")
+    private int expiryHours;
+
+    public UploadResponse startUpload(UploadStartRequest request) {
+        if (!request.getContentType().toLowerCase().startsWith("image/")) {
+            throw new RuntimeException("Only images can be uploaded");
+        }
+        if (request.getSize() > maxSizeBytes) {
+            throw new RuntimeException("Upload exceeds the maximum size of " + maxSizeBytes + " bytes");
+        }
+
+        Path temp;
+        try {
+            temp = fileStorageService.tempFile();
+        } catch (IOException e) {
+            log.error("Error creating upload file: {}", e.getMessage());
+            throw new RuntimeException("Error creating upload");
+        }
+
+        Upload upload = Upload.builder()
+                .id(UUID.randomUUID().toString())
+                .ownerId(getCurrentUser().getId())
+                .fileName(displayName(request.getFileName()))
+                .contentType(request.getContentType())
+                .totalSize(request.getSize())
+                .receivedBytes(0L)
+                .status(Upload.UploadStatus.OPEN)
+                .tempPath(temp.toString())
+                .expiresAt(LocalDateTime.now().plusHours(expiryHours))
+                .build();
+        Upload savedUpload = uploadRepository.save(upload);
+        digests.put(savedUpload.getId(), FileStorageService.newSha256());
+        return mapToUploadResponse(savedUpload);
+    }
+
+    @Transactional(readOnly = true)
+    public UploadResponse getUpload(String uploadId) {
+        return mapToUploadResponse(findOwnedUpload(uploadId));
+    }
+
+    /**
+     * Writes one chunk at {@code offset}, which must equal the bytes received so far. Runs outside
+     * a transaction so no connection is held while the body streams in; the offset is only
+     * advanced once the whole chunk is on disk.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UploadResponse appendChunk(String uploadId, long offset, InputStream body) throws IOException {
+        Upload upload = findOwnedUpload(uploadId);
+        if (upload.getStatus() != Upload.UploadStatus.OPEN) {
+            throw new RuntimeException("Upload is already committed");
+        }
+        if (!writing.add(uploadId)) {
+            throw new OffsetMismatchException(upload.getReceivedBytes());
+        }
+        try {
+            if (offset != upload.getReceivedBytes()) {
+                throw new OffsetMismatchException(upload.getReceivedBytes());
+            }
+
+            Path temp = Paths.get(upload.getTempPath());
+            // Work on a copy so a broken chunk leaves the digest at the last good offset
+            MessageDigest digest = copyDigest(uploadId, temp, offset);
+            long limit = Math.min(maxChunkBytes, upload.getTotalSize() - offset);
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.position(offset);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    if (written + read > limit) {
+                        throw new RuntimeException("Chunk exceeds the declared upload size or the maximum chunk size");
+                    }
+                    ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+                    while (data.hasRemaining()) {
+                        channel.write(data);
+                    }
+                    digest.update(buffer, 0, read);
+                    written += read;
+                }
+            }
+
+            upload.setReceivedBytes(offset + written);
+            upload.setExpiresAt(LocalDateTime.now().plusHours(expiryHours));
+            Upload savedUpload;
+            try {
+                savedUpload = uploadRepository.save(upload);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // Committed while this chunk was being written
+                throw new RuntimeException("Upload is already committed");
+            }
+            digests.put(uploadId, digest);
+            return mapToUploadResponse(savedUpload);
+        } finally {
+            writing.remove(uploadId);
+        }
+    }
+
+    /**
+     * Verifies the upload is complete and moves it into the blob store. An optional client-side
+     * SHA-256 is checked against the server's digest.
+     */
+    public UploadResponse commitUpload(String uploadId, String expectedSha256) {
+        Upload upload = findOwnedUpload(uploadId);
+        if (upload.getStatus() != Upload.UploadStatus.OPEN) {
+            return mapToUploadResponse(upload);
+        }
+        if (writing.contains(uploadId)) {
+            throw new RuntimeException("A chunk is still being written");
+        }
+        if (!upload.getReceivedBytes().equals(upload.getTotalSize())) {
+            throw new RuntimeException("Upload is incomplete: received " + upload.getReceivedBytes()
+                    + " of " + upload.getTotalSize() + " bytes");
+        }
+
+        Path temp = Paths.get(upload.getTempPath());
+        try {
+            String hash = HexFormat.of().formatHex(copyDigest(uploadId, temp, upload.getTotalSize()).digest());
+            if (expectedSha256 != null && !expectedSha256.isBlank() && !expectedSha256.equalsIgnoreCase(hash)) {
+                throw new RuntimeException("Checksum mismatch");
+            }
+            FileStorageService.StoredBlob blob = fileStorageService.storeBlob(temp, hash);
+            upload.setContentHash(blob.hash());
+            upload.setFilePath(blob.path());
+        } catch (IOException e) {
+            log.error("Error committing upload {}: {}", uploadId, e.getMessage());
+            throw new RuntimeException("Error committing upload");
+        }
+        digests.remove(uploadId);
+        upload.setTempPath(null);
+        upload.setStatus(Upload.UploadStatus.COMMITTED);
+        upload.setExpiresAt(LocalDateTime.now().plusHours(expiryHours));
+        return mapToUploadResponse(uploadRepository.save(upload));
+    }
+
+    /**
+     * Turns committed uploads of the current user into images of the report. Each image takes
+     * over the stored file reference held by its upload.
+     */
+    public List<ReportImage> consumeUploads(List<String> uploadIds, Report report) {
+        List<ReportImage> images = new ArrayList<>();
+        for (String uploadId : new LinkedHashSet<>(uploadIds)) {
+            Upload upload = findOwnedUpload(uploadId);
+            if (upload.getStatus() != Upload.UploadStatus.COMMITTED) {
+                throw new RuntimeException("Upload " + uploadId + " is not committed");
+            }
+            upload.setStatus(Upload.UploadStatus.CONSUMED);
+            uploadRepository.save(upload);
+            images.add(ReportImage.builder()
+                    .fileName(upload.getFileName())
+                    .filePath(upload.getFilePath())
+                    .contentHash(upload.getContentHash())
+                    .contentType(upload.getContentType())
+                    .fileSize(upload.getTotalSize())
+                    .report(report)
+                    .build());
+        }
+        return images;
+    }
+
+    // Abandoned uploads: open ones lose their partial file, committed ones give back their reference
+    @Scheduled(fixedDelayString = "${app.uploads.cleanup-interval-ms:3600000}")
+    public void cleanupExpired() {
+        List<Upload> expired = uploadRepository.findTop500ByExpiresAtBefore(LocalDateTime.now());
+        for (Upload upload : expired) {
+            if (writing.contains(upload.getId())) {
+                continue;
+            }
+            if (upload.getStatus() == Upload.UploadStatus.OPEN && upload.getTempPath() != null) {
+                try {
+                    Files.deleteIfExists(Paths.get(upload.getTempPath()));
+                } catch (IOException e) {
+                    log.warn("Could not delete upload file {}: {}", upload.getTempPath(), e.getMessage());
+                    continue;
+                }
+            } else if (upload.getStatus() == Upload.UploadStatus.COMMITTED) {
+                fileStorageService.release(upload.getContentHash());
+            }
+            digests.remove(upload.getId());
+            uploadRepository.delete(upload);
+        }
+        if (!expired.isEmpty()) {
+            log.info("Removed {} expired uploads", expired.size());
+        }
+    }
+
+    private MessageDigest copyDigest(String uploadId, Path temp, long length) throws IOException {
+        MessageDigest current = digests.get(uploadId);
+        if (current != null) {
+            try {
+                return (MessageDigest) current.clone();
+            } catch (CloneNotSupportedException e) {
+                // Fall through and re-hash
+            }
+        }
+        MessageDigest digest = FileStorageService.newSha256();
+        try (InputStream in = Files.newInputStream(temp)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read == -1) {
+                    throw new IOException("Upload file is shorter than expected");
+                }
+                digest.update(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+        return digest;
+    }
+
+    // Other users' uploads are reported as missing rather than forbidden
+    private Upload findOwnedUpload(String uploadId) {
+        Upload upload = uploadRepository.findById(uploadId)
+                .orElseThrow(() -> new RuntimeException("Upload not found"));
+        if (!upload.getOwnerId().equals(getCurrentUser().getId())) {
+            throw new RuntimeException("Upload not found");
+        }
+        return upload;
+    }
+
+    private UploadResponse mapToUploadResponse(Upload upload) {
+        return UploadResponse.builder()
+                .uploadId(upload.getId())
+                .fileName(upload.getFileName())
+                .contentType(upload.getContentType())
+                .size(upload.getTotalSize())
+                .offset(upload.getReceivedBytes())
+                .status(upload.getStatus())
+                .sha256(upload.getContentHash())
+                .maxChunkSize(maxChunkBytes)
+                .expiresAt(upload.getExpiresAt())
+                .build();
+    }
+
+    private static String displayName(String fileName) {
+        String name = Paths.get(fileName).getFileName().toString();
+        return name.length() > 255 ? name.substring(name.length() - 255) : name;
+    }
+
+    private UserPrincipal getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+
+    /**
+     * The chunk did not start where the server expects; the client resumes from {@link #getOffset()}.
+     */
+    @Getter
+    public static class OffsetMismatchException extends RuntimeException {
+        private final long offset;
+
+        public OffsetMismatchException(long offset) {
+            super("Expected offset " + offset);
+            this.offset = offset;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +25,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final AreaRepository areaRepository;
+    private final CitizenAreaService citizenAreaService;
+    private final WorkerAssignmentEngine workerAssignmentEngine;
 
     public List<UserResponse> getAllUsers() {
         List<User> users = userRepository.findAll();
@@ -54,6 +57,8 @@ public class UserService {
         user.setEmail(userDetails.getEmail());
         user.setPhoneNumber(userDetails.getPhoneNumber());
         user.setAddress(userDetails.getAddress());
+        boolean locationChanged = !Objects.equals(user.getLatitude(), userDetails.getLatitude())
+                || !Objects.equals(user.getLongitude(), userDetails.getLongitude());
         user.setLatitude(userDetails.getLatitude());
         user.setLongitude(userDetails.getLongitude());
 
@@ -65,6 +70,12 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        if (locationChanged) {
+            citizenAreaService.updateUser(updatedUser);
+        }
+        if (updatedUser.getRole() == User.Role.WORKER) {
+            workerAssignmentEngine.upsertWorker(updatedUser);
+        }
         return mapToUserResponse(updatedUser);
     }
 
@@ -74,6 +85,7 @@ public class UserService {
         
         user.setIsActive(false);
         userRepository.save(user);
+        workerAssignmentEngine.removeWorker(id);
     }
 
     public boolean isCurrentUser(Long userId, Authentication authentication) {
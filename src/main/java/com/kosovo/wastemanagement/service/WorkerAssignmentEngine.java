@@ -0,0 +1,377 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.event.ReportAssignedEvent;
+import com.kosovo.wastemanagement.event.ReportCreatedEvent;
+import com.kosovo.wastemanagement.event.ReportStatusChangedEvent;
+import com.kosovo.wastemanagement.model.Report;
+import com.kosovo.wastemanagement.model.User;
+import com.kosovo.wastemanagement.repository.ReportRepository;
+import com.kosovo.wastemanagement.repository.UserRepository;
+import com.kosovo.wastemanagement.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Picks a worker for each new report from an in-memory view of active workers: their area, open
+ * report load and last known location. A candidate's cost is its distance to the report plus a
+ * per-open-report penalty that shrinks as priority rises, so urgent reports go to the nearest
+ * worker and routine ones spread the load. A periodic pass refreshes the view, assigns anything
+ * left unassigned and evens out the pending work it assigned itself within each area. Loads
+ * change only once the assigning transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerAssignmentEngine {
+
+    private static final Set<Report.ReportStatus> OPEN_STATUSES =
+            Set.of(Report.ReportStatus.PENDING, Report.ReportStatus.IN_PROGRESS);
+
+    // Metres of extra travel one more open report is worth, by priority
+    private static final Map<Report.ReportPriority, Double> LOAD_PENALTY_METERS = new EnumMap<>(Map.of(
+            Report.ReportPriority.LOW, 3000.0,
+            Report.ReportPriority.MEDIUM, 1500.0,
+            Report.ReportPriority.HIGH, 600.0,
+            Report.ReportPriority.URGENT, 200.0));
+
+    private final ReportRepository reportRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.assignment.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.assignment.max-open-per-worker:25}")
+    private int maxOpenPerWorker;
+
+    @Value("${app.assignment.rebalance-threshold:3}")
+    private int rebalanceThreshold;
+
+    @Value("${app.assignment.max-moves-per-pass:100}")
+    private int maxMovesPerPass;
+
+    // Held shared from before an assigning transaction commits until its load change is applied, and
+    // exclusively while refresh() recounts, so no commit is both in the recount and applied on top
+    private final ReadWriteLock commitGate = new ReentrantReadWriteLock();
+
+    private final Map<Long, WorkerState> workers = new ConcurrentHashMap<>();
+    private volatile Map<Long, List<WorkerState>> workersByArea = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Chooses a worker of the report's area, or returns empty when the report has no area or the
+     * area has no worker with capacity. The report counts against the worker once it is committed.
+     */
+    public Optional<Long> assign(Long areaId, Report.ReportPriority priority, double latitude, double longitude) {
+        if (!enabled || areaId == null) {
+            return Optional.empty();
+        }
+        return choose(workersByArea.getOrDefault(areaId, List.of()), priority, latitude, longitude, Map.of())
+                .map(worker -> worker.id);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReportCreated(ReportCreatedEvent event) {
+        boolean open = OPEN_STATUSES.contains(event.status());
+        moveOnCommit(null, false, event.assignedWorkerId(), open);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        moveOnCommit(event.previousAssignedWorkerId(), OPEN_STATUSES.contains(event.previousStatus()),
+                event.assignedWorkerId(), OPEN_STATUSES.contains(event.status()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReportAssigned(ReportAssignedEvent event) {
+        boolean open = OPEN_STATUSES.contains(event.status());
+        moveOnCommit(event.previousWorkerId(), open, event.workerId(), open);
+    }
+
+    private void moveOnCommit(Long fromWorkerId, boolean wasOpen, Long toWorkerId, boolean isOpen) {
+        commitGate.readLock().lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        move(fromWorkerId, wasOpen, toWorkerId, isOpen);
+                    }
+                } finally {
+                    commitGate.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void move(Long fromWorkerId, boolean wasOpen, Long toWorkerId, boolean isOpen) {
+        if (wasOpen && isOpen && Objects.equals(fromWorkerId, toWorkerId)) {
+            return;
+        }
+        if (wasOpen && fromWorkerId != null) {
+            release(fromWorkerId);
+        }
+        if (isOpen && toWorkerId != null) {
+            reserve(toWorkerId);
+        }
+    }
+
+    private void reserve(Long workerId) {
+        WorkerState worker = workers.get(workerId);
+        if (worker != null) {
+            worker.load.incrementAndGet();
+        }
+    }
+
+    private void release(Long workerId) {
+        WorkerState worker = workers.get(workerId);
+        if (worker != null) {
+            worker.load.updateAndGet(load -> Math.max(0, load - 1));
+        }
+    }
+
+    // Cheapest worker with spare capacity; pending holds this pass's uncommitted load changes
+    private Optional<WorkerState> choose(List<WorkerState> candidates, Report.ReportPriority priority,
+                                         double latitude, double longitude, Map<Long, Integer> pending) {
+        double penalty = LOAD_PENALTY_METERS.getOrDefault(priority, 1500.0);
+        WorkerState best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (WorkerState worker : candidates) {
+            int load = loadOf(worker, pending);
+            if (load >= maxOpenPerWorker) {
+                continue;
+            }
+            double cost = load * penalty + worker.distanceMeters(latitude, longitude);
+            if (cost < bestCost) {
+                best = worker;
+                bestCost = cost;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private static int loadOf(WorkerState worker, Map<Long, Integer> pending) {
+        return worker.load.get() + pending.getOrDefault(worker.id, 0);
+    }
+
+    public void updateLocation(Long workerId, double latitude, double longitude) {
+        WorkerState worker = workers.get(workerId);
+        if (worker != null) {
+            worker.latitude = latitude;
+            worker.longitude = longitude;
+        }
+    }
+
+    /**
+     * Reloads active workers and their open loads; last known locations are kept. Assigning
+     * transactions wait at commit until the new counts are in place.
+     */
+    public synchronized void refresh() {
+        commitGate.writeLock().lock();
+        try {
+            reload();
+        } finally {
+            commitGate.writeLock().unlock();
+        }
+    }
+
+    private void reload() {
+        Map<Long, Integer> loads = new HashMap<>();
+        reportRepository.countByAssignedWorker(OPEN_STATUSES)
+                .forEach(load -> loads.put(load.getWorkerId(), load.getOpenReports().intValue()));
+
+        Map<Long, WorkerState> fresh = new HashMap<>();
+        for (User user : userRepository.findActiveWorkersWithArea()) {
+            WorkerState state = new WorkerState(user.getId(), user.getAssignedArea().getId(),
+                    new AtomicInteger(loads.getOrDefault(user.getId(), 0)));
+            WorkerState previous = workers.get(user.getId());
+            if (previous != null && previous.latitude != null) {
+                state.latitude = previous.latitude;
+                state.longitude = previous.longitude;
+            } else {
+                locate(state, user);
+            }
+            fresh.put(state.id, state);
+        }
+        workers.keySet().retainAll(fresh.keySet());
+        workers.putAll(fresh);
+        indexByArea();
+    }
+
+    // A worker was edited by an admin; the open load and last known position carry over
+    public synchronized void upsertWorker(User user) {
+        if (user.getRole() != User.Role.WORKER || !Boolean.TRUE.equals(user.getIsActive())
+                || user.getAssignedArea() == null) {
+            removeWorker(user.getId());
+            return;
+        }
+        WorkerState previous = workers.get(user.getId());
+        WorkerState state = new WorkerState(user.getId(), user.getAssignedArea().getId(),
+                previous != null ? previous.load : new AtomicInteger());
+        if (previous != null && previous.latitude != null) {
+            state.latitude = previous.latitude;
+            state.longitude = previous.longitude;
+        } else {
+            locate(state, user);
+        }
+        workers.put(state.id, state);
+        indexByArea();
+    }
+
+    public synchronized void removeWorker(Long workerId) {
+        if (workers.remove(workerId) != null) {
+            indexByArea();
+        }
+    }
+
+    // Stored home position, falling back to the centre of the worker's area
+    private static void locate(WorkerState state, User user) {
+        if (user.getLatitude() != null && user.getLongitude() != null) {
+            state.latitude = user.getLatitude();
+            state.longitude = user.getLongitude();
+        } else {
+            state.latitude = user.getAssignedArea().getCenterLatitude();
+            state.longitude = user.getAssignedArea().getCenterLongitude();
+        }
+    }
+
+    private void indexByArea() {
+        Map<Long, List<WorkerState>> byArea = new HashMap<>();
+        workers.values().forEach(state -> byArea.computeIfAbsent(state.areaId, k -> new ArrayList<>()).add(state));
+        byArea.replaceAll((areaId, list) -> List.copyOf(list));
+        workersByArea = Map.copyOf(byArea);
+    }
+
+    @Scheduled(fixedDelayString = "${app.assignment.rebalance-interval-ms:300000}",
+               initialDelayString = "${app.assignment.rebalance-interval-ms:300000}")
+    @Transactional
+    public void rebalance() {
+        if (!enabled) {
+            return;
+        }
+        refresh();
+        Map<Long, Integer> pending = new HashMap<>();
+        int assigned = assignBacklog(pending);
+        int moved = evenOutAreas(pending);
+        if (assigned > 0 || moved > 0) {
+            log.info("Assignment pass assigned {} reports and moved {}", assigned, moved);
+        }
+    }
+
+    // Reports that found no worker on creation, most urgent and oldest first; reports outside every
+    // area are left for an admin
+    private int assignBacklog(Map<Long, Integer> pending) {
+        List<Report> backlog = new ArrayList<>(reportRepository.findUnassignedReportsByStatus(Report.ReportStatus.PENDING));
+        backlog.removeIf(report -> report.getArea() == null);
+        backlog.sort(Comparator.comparing(Report::getPriority).reversed().thenComparing(Report::getCreatedAt));
+        int assigned = 0;
+        for (Report report : backlog) {
+            if (assigned >= maxMovesPerPass) {
+                break;
+            }
+            Optional<WorkerState> worker = choose(workersByArea.getOrDefault(report.getArea().getId(), List.of()),
+                    report.getPriority(), report.getLatitude(), report.getLongitude(), pending);
+            if (worker.isPresent()) {
+                reassign(report, null, worker.get().id, pending);
+                assigned++;
+            }
+        }
+        return assigned;
+    }
+
+    // Moves pending, not yet started reports from the busiest to the least busy worker of an area;
+    // reports an admin assigned by hand stay where they are
+    private int evenOutAreas(Map<Long, Integer> pending) {
+        int moved = 0;
+        for (List<WorkerState> areaWorkers : workersByArea.values()) {
+            if (areaWorkers.size() < 2) {
+                continue;
+            }
+            while (moved < maxMovesPerPass) {
+                Comparator<WorkerState> byLoad = Comparator.comparingInt(w -> loadOf(w, pending));
+                WorkerState busiest = areaWorkers.stream().max(byLoad).orElseThrow();
+                WorkerState idlest = areaWorkers.stream().min(byLoad).orElseThrow();
+                if (loadOf(busiest, pending) - loadOf(idlest, pending) < rebalanceThreshold) {
+                    break;
+                }
+                List<Report> reports = reportRepository
+                        .findTop10ByAssignedWorkerIdAndStatusAndAutoAssignedTrueOrderByCreatedAtDesc(
+                                busiest.id, Report.ReportStatus.PENDING);
+                if (reports.isEmpty()) {
+                    break;
+                }
+                reassign(reports.get(0), busiest.id, idlest.id, pending);
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    private void reassign(Report report, Long fromWorkerId, Long toWorkerId, Map<Long, Integer> pending) {
+        report.setAssignedWorker(userRepository.getReferenceById(toWorkerId));
+        report.setAutoAssigned(true);
+        reportRepository.save(report);
+        if (fromWorkerId != null) {
+            pending.merge(fromWorkerId, -1, Integer::sum);
+        }
+        pending.merge(toWorkerId, 1, Integer::sum);
+        eventPublisher.publishEvent(ReportAssignedEvent.of(report, fromWorkerId));
+    }
+
+    public int workerCount() {
+        return workers.size();
+    }
+
+    private static final class WorkerState {
+        private final Long id;
+        private final Long areaId;
+        private final AtomicInteger load;
+        private volatile Double latitude;
+        private volatile Double longitude;
+
+        private WorkerState(Long id, Long areaId, AtomicInteger load) {
+            this.id = id;
+            this.areaId = areaId;
+            this.load = load;
+        }
+
+        // Workers without any known position rank behind located ones at the same load
+        double distanceMeters(double lat, double lon) {
+            Double workerLatitude = latitude;
+            Double workerLongitude = longitude;
+            if (workerLatitude == null || workerLongitude == null) {
+                return GeoUtils.EARTH_RADIUS_METERS;
+            }
+            return GeoUtils.distanceMeters(workerLatitude, workerLongitude, lat, lon);
+        }
+    }
+}
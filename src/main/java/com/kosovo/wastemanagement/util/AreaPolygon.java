@@ -0,0 +1,115 @@
+package com.kosovo.wastemanagement.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Polygon or multi-polygon boundary as a flat list of rings (outer rings and holes alike), each
+ * ring stored as interleaved longitude/latitude pairs in GeoJSON order. Containment uses the
+ * even-odd rule across all rings, which is correct for valid, non-overlapping (multi)polygons.
+ */
+public final class AreaPolygon {
+
+    // Vertices are persisted as int32 at 1e-7 degrees (~1 cm), 8 bytes per vertex
+    private static final double SCALE = 1e7;
+
+    private final double[][] rings;
+    private final double minLat;
+    private final double minLon;
+    private final double maxLat;
+    private final double maxLon;
+
+    public AreaPolygon(List<double[]> rings) {
+        if (rings.isEmpty()) {
+            throw new IllegalArgumentException("Polygon has no rings");
+        }
+        this.rings = rings.toArray(new double[0][]);
+        double south = Double.MAX_VALUE, west = Double.MAX_VALUE;
+        double north = -Double.MAX_VALUE, east = -Double.MAX_VALUE;
+        for (double[] ring : this.rings) {
+            if (ring.length < 8 || ring.length % 2 != 0) {
+                throw new IllegalArgumentException("Polygon ring needs at least 4 positions");
+            }
+            for (int i = 0; i < ring.length; i += 2) {
+                west = Math.min(west, ring[i]);
+                east = Math.max(east, ring[i]);
+                south = Math.min(south, ring[i + 1]);
+                north = Math.max(north, ring[i + 1]);
+            }
+        }
+        minLat = south;
+        minLon = west;
+        maxLat = north;
+        maxLon = east;
+    }
+
+    public double minLatitude() {
+        return minLat;
+    }
+
+    public double minLongitude() {
+        return minLon;
+    }
+
+    public double maxLatitude() {
+        return maxLat;
+    }
+
+    public double maxLongitude() {
+        return maxLon;
+    }
+
+    public List<double[]> rings() {
+        return List.of(rings);
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLat || latitude > maxLat || longitude < minLon || longitude > maxLon) {
+            return false;
+        }
+        boolean inside = false;
+        for (double[] ring : rings) {
+            int n = ring.length;
+            for (int i = 0, j = n - 2; i < n; j = i, i += 2) {
+                double xi = ring[i], yi = ring[i + 1];
+                double xj = ring[j], yj = ring[j + 1];
+                if ((yi > latitude) != (yj > latitude)
+                        && longitude < (xj - xi) * (latitude - yi) / (yj - yi) + xi) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    public byte[] toBytes() {
+        int size = 4;
+        for (double[] ring : rings) {
+            size += 4 + ring.length * 4;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(rings.length);
+        for (double[] ring : rings) {
+            buffer.putInt(ring.length / 2);
+            for (double coordinate : ring) {
+                buffer.putInt((int) Math.round(coordinate * SCALE));
+            }
+        }
+        return buffer.array();
+    }
+
+    public static AreaPolygon fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int ringCount = buffer.getInt();
+        List<double[]> rings = new ArrayList<>(ringCount);
+        for (int r = 0; r < ringCount; r++) {
+            double[] ring = new double[buffer.getInt() * 2];
+            for (int i = 0; i < ring.length; i++) {
+                ring[i] = buffer.getInt() / SCALE;
+            }
+            rings.add(ring);
+        }
+        return new AreaPolygon(rings);
+    }
+}
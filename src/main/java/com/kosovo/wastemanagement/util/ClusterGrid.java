@@ -0,0 +1,133 @@
+package com.kosovo.wastemanagement.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Point clusters precomputed for every zoom level between {@link #MIN_ZOOM} and {@link #MAX_ZOOM}.
+ * A cell at zoom z is a quarter of a 256px web-map tile, so each one covers roughly 64 pixels
+ * on screen. Adding, moving or removing a point touches one cell per zoom level.
+ */
+public class ClusterGrid {
+
+    public static final int MIN_ZOOM = 3;
+    public static final int MAX_ZOOM = 18;
+    private static final int CELLS_PER_TILE = 4;
+
+    private final Map<Long, double[]> positions = new HashMap<>();
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+
+    public ClusterGrid() {
+        for (int z = MIN_ZOOM; z <= MAX_ZOOM; z++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    public static double cellSizeDegrees(int zoom) {
+        return 360.0 / (1L << zoom) / CELLS_PER_TILE;
+    }
+
+    public static int clampZoom(int zoom) {
+        return Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+    }
+
+    public synchronized void upsert(long id, double latitude, double longitude) {
+        double[] previous = positions.get(id);
+        if (previous != null) {
+            if (previous[0] == latitude && previous[1] == longitude) {
+                return;
+            }
+            remove(id);
+        }
+        positions.put(id, new double[]{latitude, longitude});
+        for (int z = MIN_ZOOM; z <= MAX_ZOOM; z++) {
+            long key = GeoUtils.cellKey(latitude, longitude, cellSizeDegrees(z));
+            levels.get(z - MIN_ZOOM).computeIfAbsent(key, k -> new Cell()).add(id, latitude, longitude);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        double[] previous = positions.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (int z = MIN_ZOOM; z <= MAX_ZOOM; z++) {
+            Map<Long, Cell> level = levels.get(z - MIN_ZOOM);
+            long key = GeoUtils.cellKey(previous[0], previous[1], cellSizeDegrees(z));
+            Cell cell = level.get(key);
+            if (cell != null && cell.remove(id, previous[0], previous[1])) {
+                level.remove(key);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return positions.size();
+    }
+
+    public synchronized List<Cluster> query(int zoom, double minLat, double minLon, double maxLat, double maxLon) {
+        int z = clampZoom(zoom);
+        double cellSize = cellSizeDegrees(z);
+        Map<Long, Cell> level = levels.get(z - MIN_ZOOM);
+        int fromRow = GeoUtils.cellIndex(minLat, cellSize);
+        int toRow = GeoUtils.cellIndex(maxLat, cellSize);
+        int fromCol = GeoUtils.cellIndex(minLon, cellSize);
+        int toCol = GeoUtils.cellIndex(maxLon, cellSize);
+
+        List<Cluster> result = new ArrayList<>();
+        long cellCount = (long) (toRow - fromRow + 1) * (toCol - fromCol + 1);
+        if (cellCount > level.size()) {
+            for (Map.Entry<Long, Cell> entry : level.entrySet()) {
+                int row = (int) (entry.getKey() >> 32);
+                int col = (int) (long) entry.getKey();
+                if (row >= fromRow && row <= toRow && col >= fromCol && col <= toCol) {
+                    result.add(entry.getValue().toCluster());
+                }
+            }
+            return result;
+        }
+        for (int r = fromRow; r <= toRow; r++) {
+            for (int c = fromCol; c <= toCol; c++) {
+                Cell cell = level.get(GeoUtils.cellKey(r, c));
+                if (cell != null) {
+                    result.add(cell.toCluster());
+                }
+            }
+        }
+        return result;
+    }
+
+    public record Cluster(int count, double latitude, double longitude, Long id) {
+    }
+
+    private static class Cell {
+        private final Set<Long> ids = new HashSet<>();
+        private double sumLat;
+        private double sumLon;
+
+        void add(long id, double latitude, double longitude) {
+            ids.add(id);
+            sumLat += latitude;
+            sumLon += longitude;
+        }
+
+        // Returns true when the cell is now empty
+        boolean remove(long id, double latitude, double longitude) {
+            if (ids.remove(id)) {
+                sumLat -= latitude;
+                sumLon -= longitude;
+            }
+            return ids.isEmpty();
+        }
+
+        Cluster toCluster() {
+            int count = ids.size();
+            Long single = count == 1 ? ids.iterator().next() : null;
+            return new Cluster(count, sumLat / count, sumLon / count, single);
+        }
+    }
+}
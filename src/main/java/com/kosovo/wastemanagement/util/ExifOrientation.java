@@ -0,0 +1,115 @@
+package com.kosovo.wastemanagement.util;
+
+import java.awt.geom.AffineTransform;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the EXIF orientation tag from a JPEG header. Only the APP segments before the image data
+ * are scanned, so the cost is a few kilobytes of reading regardless of the file size.
+ */
+public final class ExifOrientation {
+
+    public static final int NORMAL = 1;
+
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private ExifOrientation() {
+    }
+
+    /**
+     * Orientation 1-8, or {@link #NORMAL} when the stream is not a JPEG, carries no tag or has a
+     * malformed header. Only failures to read the stream itself are thrown.
+     */
+    public static int read(InputStream input) throws IOException {
+        try {
+            return scan(new DataInputStream(input));
+        } catch (EOFException | RuntimeException e) {
+            // Truncated or corrupt header; the image may still decode fine
+            return NORMAL;
+        }
+    }
+
+    private static int scan(DataInputStream in) throws IOException {
+        if (in.readUnsignedShort() != 0xFFD8) {
+            return NORMAL;
+        }
+        while (true) {
+            int marker = in.readUnsignedShort();
+            if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                return NORMAL;
+            }
+            int length = in.readUnsignedShort() - 2;
+            if (length < 0) {
+                return NORMAL;
+            }
+            if (marker != 0xFFE1) {
+                in.skipNBytes(length);
+                continue;
+            }
+            byte[] segment = in.readNBytes(length);
+            int orientation = fromExifSegment(segment);
+            if (orientation != 0) {
+                return orientation;
+            }
+        }
+    }
+
+    // Transform that maps pixels of the stored image onto the upright image
+    public static AffineTransform transform(int orientation, int width, int height) {
+        return switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, width);
+            default -> new AffineTransform();
+        };
+    }
+
+    public static boolean swapsDimensions(int orientation) {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    private static int fromExifSegment(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') {
+            return 0;
+        }
+        int tiff = 6;
+        boolean littleEndian = segment[tiff] == 'I';
+        // Unsigned offset from the TIFF header; anything pointing back into the 8-byte header is corrupt
+        long offset = readInt(segment, tiff + 4, littleEndian) & 0xFFFFFFFFL;
+        if (offset < 8 || tiff + offset + 2 > segment.length) {
+            return 0;
+        }
+        int ifd = tiff + (int) offset;
+        int entries = readShort(segment, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > segment.length) {
+                return 0;
+            }
+            if (readShort(segment, entry, littleEndian) == ORIENTATION_TAG) {
+                int value = readShort(segment, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] b, int offset, boolean littleEndian) {
+        int b0 = b[offset] & 0xFF;
+        int b1 = b[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] b, int offset, boolean littleEndian) {
+        int hi = readShort(b, littleEndian ? offset + 2 : offset, littleEndian);
+        int lo = readShort(b, littleEndian ? offset : offset + 2, littleEndian);
+        return (hi << 16) | lo;
+    }
+}
@@ -0,0 +1,67 @@
+package com.kosovo.wastemanagement.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns free text into a MySQL boolean-mode FULLTEXT query in which every word is required and
+ * matched as a prefix, so "overfl bin" finds "overflowing bins". User input never reaches the
+ * query syntax: only letters and digits survive.
+ */
+public final class FullTextQuery {
+
+    public static final int MAX_TERMS = 8;
+
+    // InnoDB's default stopword list; a required stopword would make every query match nothing
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en", "for", "from", "how", "i",
+            "in", "is", "it", "la", "of", "on", "or", "that", "the", "this", "to", "was", "what", "when",
+            "where", "who", "will", "with", "und", "www");
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Boolean-mode query such as {@code +overfl* +bin*}, or null when the text has no searchable words.
+     */
+    public static String toBooleanMode(String text) {
+        List<String> terms = terms(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        for (String term : terms) {
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('+').append(term).append('*');
+        }
+        return query.toString();
+    }
+
+    static List<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return List.of();
+        }
+        StringBuilder word = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= lower.length() && terms.size() < MAX_TERMS; ) {
+            int cp = i < lower.length() ? lower.codePointAt(i) : ' ';
+            if (Character.isLetterOrDigit(cp)) {
+                word.appendCodePoint(cp);
+            } else if (word.length() > 0) {
+                String term = word.toString();
+                if (!STOPWORDS.contains(term)) {
+                    terms.add(term);
+                }
+                word.setLength(0);
+            }
+            i += i < lower.length() ? Character.charCount(cp) : 1;
+        }
+        return new ArrayList<>(terms);
+    }
+}
@@ -0,0 +1,199 @@
+package com.kosovo.wastemanagement.util;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays store for point coordinates. Besides latitude/longitude in radians it keeps
+ * each point as a unit vector on the sphere, so great-circle comparisons reduce to a squared
+ * chord length: three subtractions and three multiply-adds per point, no trigonometry. Scans
+ * walk contiguous primitive arrays rather than boxed entities; GeoDistanceBenchmark in
+ * {@code benchmarks/} compares them with the per-entity stream version.
+ */
+public class GeoPointArray {
+
+    private long[] ids;
+    private double[] latRad;
+    private double[] lonRad;
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private int size;
+
+    public GeoPointArray(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        ids = new long[capacity];
+        latRad = new double[capacity];
+        lonRad = new double[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public double latitude(int index) {
+        return Math.toDegrees(latRad[index]);
+    }
+
+    public double longitude(int index) {
+        return Math.toDegrees(lonRad[index]);
+    }
+
+    public int add(long id, double latitude, double longitude) {
+        if (size == ids.length) {
+            grow();
+        }
+        set(size, id, latitude, longitude);
+        return size++;
+    }
+
+    public void set(int index, long id, double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        ids[index] = id;
+        latRad[index] = phi;
+        lonRad[index] = lambda;
+        x[index] = cosPhi * Math.cos(lambda);
+        y[index] = cosPhi * Math.sin(lambda);
+        z[index] = Math.sin(phi);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public GeoPointArray copy() {
+        GeoPointArray copy = new GeoPointArray(size + 1);
+        System.arraycopy(ids, 0, copy.ids, 0, size);
+        System.arraycopy(latRad, 0, copy.latRad, 0, size);
+        System.arraycopy(lonRad, 0, copy.lonRad, 0, size);
+        System.arraycopy(x, 0, copy.x, 0, size);
+        System.arraycopy(y, 0, copy.y, 0, size);
+        System.arraycopy(z, 0, copy.z, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Removes the point with the given id by moving the last point into its slot, so indexes are not stable.
+     */
+    public boolean remove(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                int last = --size;
+                ids[i] = ids[last];
+                latRad[i] = latRad[last];
+                lonRad[i] = lonRad[last];
+                x[i] = x[last];
+                y[i] = y[last];
+                z[i] = z[last];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Exact great-circle distance (same result as Haversine) from the query point to every stored point.
+     */
+    public void distancesMeters(double latitude, double longitude, double[] out) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        double qx = cosPhi * Math.cos(lambda);
+        double qy = cosPhi * Math.sin(lambda);
+        double qz = Math.sin(phi);
+        for (int i = 0; i < size; i++) {
+            double dx = x[i] - qx;
+            double dy = y[i] - qy;
+            double dz = z[i] - qz;
+            double chord = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            out[i] = 2 * GeoUtils.EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, chord / 2));
+        }
+    }
+
+    /**
+     * Equirectangular approximation, accurate to well under 1% for distances of a few kilometres.
+     */
+    public void equirectangularMeters(double latitude, double longitude, double[] out) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        for (int i = 0; i < size; i++) {
+            double dx = (lonRad[i] - lambda) * cosPhi;
+            double dy = latRad[i] - phi;
+            out[i] = GeoUtils.EARTH_RADIUS_METERS * Math.sqrt(dx * dx + dy * dy);
+        }
+    }
+
+    /**
+     * Writes the indexes of all points within {@code radiusMeters} into {@code out} and returns how many there are.
+     */
+    public int withinRadius(double latitude, double longitude, double radiusMeters, int[] out) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        double qx = cosPhi * Math.cos(lambda);
+        double qy = cosPhi * Math.sin(lambda);
+        double qz = Math.sin(phi);
+        double maxChordSquared = chordSquared(radiusMeters);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            double dx = x[i] - qx;
+            double dy = y[i] - qy;
+            double dz = z[i] - qz;
+            if (dx * dx + dy * dy + dz * dz <= maxChordSquared) {
+                out[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Index of the closest point, or -1 when empty.
+     */
+    public int nearest(double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        double qx = cosPhi * Math.cos(lambda);
+        double qy = cosPhi * Math.sin(lambda);
+        double qz = Math.sin(phi);
+        int best = -1;
+        double bestChord = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            double dx = x[i] - qx;
+            double dy = y[i] - qy;
+            double dz = z[i] - qz;
+            double d2 = dx * dx + dy * dy + dz * dz;
+            if (d2 < bestChord) {
+                bestChord = d2;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static double chordSquared(double meters) {
+        double angle = Math.min(Math.PI, meters / GeoUtils.EARTH_RADIUS_METERS);
+        double chord = 2 * Math.sin(angle / 2);
+        return chord * chord;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        latRad = Arrays.copyOf(latRad, capacity);
+        lonRad = Arrays.copyOf(lonRad, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+    }
+}
@@ -0,0 +1,38 @@
+package com.kosovo.wastemanagement.util;
+
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_METERS = 6371000.0;
+    public static final double METERS_PER_DEGREE_LAT = 111320.0;
+
+    private GeoUtils() {
+    }
+
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        // Haversine formula
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_METERS * c;
+    }
+
+    public static double metersPerDegreeLon(double latitude) {
+        return METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(latitude));
+    }
+
+    public static int cellIndex(double degrees, double cellSizeDegrees) {
+        return (int) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    // Packs a (row, column) grid cell into a single long key
+    public static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    public static long cellKey(double latitude, double longitude, double cellSizeDegrees) {
+        return cellKey(cellIndex(latitude, cellSizeDegrees), cellIndex(longitude, cellSizeDegrees));
+    }
+}
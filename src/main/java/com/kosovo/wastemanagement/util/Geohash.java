@@ -0,0 +1,154 @@
+package com.kosovo.wastemanagement.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Standard base32 geohash, identical to MySQL's ST_GeoHash. Cells that are close on the map
+ * mostly share a prefix, so a bounding box maps to a handful of string ranges that a plain
+ * B-tree index on the geohash column can serve.
+ */
+public final class Geohash {
+
+    // Precision stored on entities, ~4.8 m x 4.8 m cells
+    public static final int STORED_PRECISION = 9;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final int[] DECODE = new int[128];
+    // Sorts after every stored hash, used when a range runs to the end of the keyspace
+    private static final String KEYSPACE_END = "zzzzzzzzzzzzz";
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < BASE32.length; i++) {
+            DECODE[BASE32[i]] = i;
+        }
+    }
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude) {
+        return encode(latitude, longitude, STORED_PRECISION);
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean even = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (even) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            even = !even;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    public static double cellHeightDegrees(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    public static double cellWidthDegrees(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    /**
+     * Covers the box with at most {@code maxCells} geohash cells at the finest precision that
+     * fits, and returns them as merged, sorted ranges {@code [from, to)}.
+     */
+    public static List<Range> coveringRanges(double minLat, double minLon, double maxLat, double maxLon, int maxCells) {
+        int precision = 1;
+        for (int p = STORED_PRECISION; p >= 1; p--) {
+            if (cellCount(minLat, minLon, maxLat, maxLon, p) <= maxCells) {
+                precision = p;
+                break;
+            }
+        }
+
+        double height = cellHeightDegrees(precision);
+        double width = cellWidthDegrees(precision);
+        TreeSet<String> prefixes = new TreeSet<>();
+        long fromRow = (long) Math.floor((minLat + 90) / height);
+        long toRow = (long) Math.floor((Math.min(maxLat, 90 - 1e-9) + 90) / height);
+        long fromCol = (long) Math.floor((minLon + 180) / width);
+        long toCol = (long) Math.floor((Math.min(maxLon, 180 - 1e-9) + 180) / width);
+        for (long row = fromRow; row <= toRow; row++) {
+            double lat = -90 + (row + 0.5) * height;
+            for (long col = fromCol; col <= toCol; col++) {
+                double lon = -180 + (col + 0.5) * width;
+                prefixes.add(encode(lat, lon, precision));
+            }
+        }
+
+        List<Range> ranges = new ArrayList<>();
+        String from = null;
+        String to = null;
+        for (String prefix : prefixes) {
+            if (to != null && to.equals(prefix)) {
+                to = successor(prefix);
+                continue;
+            }
+            if (from != null) {
+                ranges.add(new Range(from, to));
+            }
+            from = prefix;
+            to = successor(prefix);
+        }
+        if (from != null) {
+            ranges.add(new Range(from, to));
+        }
+        return ranges;
+    }
+
+    private static long cellCount(double minLat, double minLon, double maxLat, double maxLon, int precision) {
+        double height = cellHeightDegrees(precision);
+        double width = cellWidthDegrees(precision);
+        long rows = (long) Math.floor((maxLat + 90) / height) - (long) Math.floor((minLat + 90) / height) + 1;
+        long cols = (long) Math.floor((maxLon + 180) / width) - (long) Math.floor((minLon + 180) / width) + 1;
+        return rows * cols;
+    }
+
+    // Next prefix of the same length, i.e. the exclusive upper bound of everything starting with prefix
+    static String successor(String prefix) {
+        char[] chars = prefix.toCharArray();
+        for (int i = chars.length - 1; i >= 0; i--) {
+            int value = DECODE[chars[i]];
+            if (value < BASE32.length - 1) {
+                chars[i] = BASE32[value + 1];
+                return new String(chars);
+            }
+            chars[i] = BASE32[0];
+        }
+        return KEYSPACE_END;
+    }
+
+    public record Range(String from, String to) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.kosovo.wastemanagement.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable R-tree over bounding boxes, bulk-loaded with Sort-Tile-Recursive packing. Built once
+ * from a snapshot and replaced wholesale on change, so lookups need no locking.
+ */
+public final class RTree<T> {
+
+    private static final int NODE_CAPACITY = 8;
+
+    private final Node<T> root;
+    private final int size;
+
+    private RTree(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <T> RTree<T> build(List<Entry<T>> entries) {
+        if (entries.isEmpty()) {
+            return new RTree<>(null, 0);
+        }
+        List<Node<T>> level = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            level.add(new Node<>(entry.minLat(), entry.minLon(), entry.maxLat(), entry.maxLon(), entry.value(), null));
+        }
+        while (level.size() > 1) {
+            level = pack(level);
+        }
+        return new RTree<>(level.get(0), entries.size());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Values whose bounding box contains the point.
+     */
+    public List<T> search(double latitude, double longitude) {
+        List<T> result = new ArrayList<>();
+        if (root == null) {
+            return result;
+        }
+        List<Node<T>> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node<T> node = stack.remove(stack.size() - 1);
+            if (!node.contains(latitude, longitude)) {
+                continue;
+            }
+            if (node.children == null) {
+                result.add(node.value);
+            } else {
+                stack.addAll(node.children);
+            }
+        }
+        return result;
+    }
+
+    private static <T> List<Node<T>> pack(List<Node<T>> nodes) {
+        int parentCount = (nodes.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceCount = (int) Math.ceil(Math.sqrt(parentCount));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+
+        List<Node<T>> sorted = new ArrayList<>(nodes);
+        sorted.sort(Comparator.comparingDouble(n -> n.minLon + n.maxLon));
+        List<Node<T>> parents = new ArrayList<>(parentCount);
+        for (int sliceStart = 0; sliceStart < sorted.size(); sliceStart += sliceSize) {
+            List<Node<T>> slice = new ArrayList<>(sorted.subList(sliceStart, Math.min(sliceStart + sliceSize, sorted.size())));
+            slice.sort(Comparator.comparingDouble(n -> n.minLat + n.maxLat));
+            for (int start = 0; start < slice.size(); start += NODE_CAPACITY) {
+                parents.add(parentOf(slice.subList(start, Math.min(start + NODE_CAPACITY, slice.size()))));
+            }
+        }
+        return parents;
+    }
+
+    private static <T> Node<T> parentOf(List<Node<T>> children) {
+        double minLat = Double.MAX_VALUE, minLon = Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+        for (Node<T> child : children) {
+            minLat = Math.min(minLat, child.minLat);
+            minLon = Math.min(minLon, child.minLon);
+            maxLat = Math.max(maxLat, child.maxLat);
+            maxLon = Math.max(maxLon, child.maxLon);
+        }
+        return new Node<>(minLat, minLon, maxLat, maxLon, null, List.copyOf(children));
+    }
+
+    public record Entry<T>(double minLat, double minLon, double maxLat, double maxLon, T value) {
+    }
+
+    private record Node<T>(double minLat, double minLon, double maxLat, double maxLon, T value, List<Node<T>> children) {
+
+        boolean contains(double latitude, double longitude) {
+            return latitude >= minLat && latitude <= maxLat && longitude >= minLon && longitude <= maxLon;
+        }
+    }
+}
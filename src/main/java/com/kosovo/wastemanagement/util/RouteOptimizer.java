@@ -0,0 +1,100 @@
+package com.kosovo.wastemanagement.util;
+
+/**
+ * Orders stops into an open path from a fixed start using nearest-neighbour construction
+ * followed by 2-opt improvement. Pure computation over primitive arrays, safe to run on any thread.
+ */
+public final class RouteOptimizer {
+
+    private static final int MAX_TWO_OPT_PASSES = 50;
+    private static final double EPSILON = 1e-6;
+
+    private RouteOptimizer() {
+    }
+
+    /**
+     * Returns the visiting order as indexes into {@code latitudes}/{@code longitudes}.
+     */
+    public static int[] optimize(double startLat, double startLon, double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        // Node 0 is the start, nodes 1..n are the stops
+        double[][] dist = new double[n + 1][n + 1];
+        for (int i = 0; i <= n; i++) {
+            double latI = i == 0 ? startLat : latitudes[i - 1];
+            double lonI = i == 0 ? startLon : longitudes[i - 1];
+            for (int j = i + 1; j <= n; j++) {
+                double d = GeoUtils.distanceMeters(latI, lonI, latitudes[j - 1], longitudes[j - 1]);
+                dist[i][j] = d;
+                dist[j][i] = d;
+            }
+        }
+
+        int[] path = nearestNeighbour(dist, n);
+        twoOpt(dist, path);
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = path[i + 1] - 1;
+        }
+        return order;
+    }
+
+    private static int[] nearestNeighbour(double[][] dist, int n) {
+        int[] path = new int[n + 1];
+        boolean[] visited = new boolean[n + 1];
+        visited[0] = true;
+        int current = 0;
+        for (int step = 1; step <= n; step++) {
+            int next = -1;
+            double best = Double.MAX_VALUE;
+            for (int candidate = 1; candidate <= n; candidate++) {
+                if (!visited[candidate] && dist[current][candidate] < best) {
+                    best = dist[current][candidate];
+                    next = candidate;
+                }
+            }
+            visited[next] = true;
+            path[step] = next;
+            current = next;
+        }
+        return path;
+    }
+
+    // path[0] is the fixed start; the path does not return to it
+    private static void twoOpt(double[][] dist, int[] path) {
+        int last = path.length - 1;
+        boolean improved = true;
+        for (int pass = 0; improved && pass < MAX_TWO_OPT_PASSES; pass++) {
+            improved = false;
+            for (int i = 1; i < last; i++) {
+                for (int j = i + 1; j <= last; j++) {
+                    int a = path[i - 1];
+                    int b = path[i];
+                    int c = path[j];
+                    double before = dist[a][b];
+                    double after = dist[a][c];
+                    if (j < last) {
+                        int d = path[j + 1];
+                        before += dist[c][d];
+                        after += dist[b][d];
+                    }
+                    if (after < before - EPSILON) {
+                        reverse(path, i, j);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] path, int from, int to) {
+        while (from < to) {
+            int tmp = path[from];
+            path[from++] = path[to];
+            path[to--] = tmp;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.kosovo.wastemanagement.service;
+
+import com.kosovo.wastemanagement.dto.CursorPageResponse;
+import com.kosovo.wastemanagement.dto.ReportResponse;
+import com.kosovo.wastemanagement.model.Area;
+import com.kosovo.wastemanagement.model.Report;
+import com.kosovo.wastemanagement.model.ReportImage;
+import com.kosovo.wastemanagement.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the fixed query budget of the report read paths: the page itself, then one query for the
+ * to-one graph and one for the images, however many reports the page holds.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reports;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReportService.class)
+class ReportServiceQueryCountTest {
+
+    private static final int REPORTS = 25;
+    private static final int PAGE_SIZE = 20;
+    private static final int IMAGES_PER_REPORT = 2;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AreaLocator areaLocator;
+
+    @MockBean
+    private FileStorageService fileStorageService;
+
+    @MockBean
+    private MapClusterService mapClusterService;
+
+    @MockBean
+    private UploadService uploadService;
+
+    @MockBean
+    private DuplicateReportIndex duplicateReportIndex;
+
+    @MockBean
+    private WorkerAssignmentEngine workerAssignmentEngine;
+
+    private Statistics statistics;
+    private Long firstReportId;
+
+    @BeforeEach
+    void setUp() {
+        Area area = entityManager.persist(Area.builder()
+                .name("Qendra")
+                .municipality("Prishtina")
+                .centerLatitude(42.6629)
+                .centerLongitude(21.1655)
+                .isActive(true)
+                .build());
+        User reporter = entityManager.persist(user("citizen", User.Role.CITIZEN, null));
+        User worker = entityManager.persist(user("worker", User.Role.WORKER, area));
+
+        for (int i = 0; i < REPORTS; i++) {
+            Report report = entityManager.persist(Report.builder()
+                    .title("Overflowing bin " + i)
+                    .description("Bin next to the school is full")
+                    .type(Report.ReportType.OVERFLOWING_BIN)
+                    .status(Report.ReportStatus.PENDING)
+                    .priority(Report.ReportPriority.MEDIUM)
+                    .latitude(42.6629 + i * 0.0001)
+                    .longitude(21.1655)
+                    .reporter(reporter)
+                    .assignedWorker(worker)
+                    .area(area)
+                    .build());
+            if (firstReportId == null) {
+                firstReportId = report.getId();
+            }
+            for (int j = 0; j < IMAGES_PER_REPORT; j++) {
+                entityManager.persist(ReportImage.builder()
+                        .fileName("photo-" + j + ".jpg")
+                        .filePath("uploads/reports/" + i + "-" + j + ".jpg")
+                        .contentType("image/jpeg")
+                        .fileSize(1024L)
+                        .report(report)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getReportsUsesFixedQueryCount() {
+        Page<ReportResponse> page = reportService.getReports(null, null, null,
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allSatisfy(this::assertFullyMapped);
+        // Page, count, to-one graph, images
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void getReportsByCursorUsesFixedQueryCount() {
+        CursorPageResponse<ReportResponse> page = reportService.getReportsByCursor(null, null, null, null,
+                PAGE_SIZE, false);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getHasNext()).isTrue();
+        assertThat(page.getContent()).allSatisfy(this::assertFullyMapped);
+        // Page, to-one graph, images
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getReportByIdUsesSingleQuery() {
+        ReportResponse report = reportService.getReportById(firstReportId);
+
+        assertFullyMapped(report);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void assertFullyMapped(ReportResponse report) {
+        assertThat(report.getReporter()).isNotNull();
+        assertThat(report.getAssignedWorker().getAssignedArea()).isNotNull();
+        assertThat(report.getArea()).isNotNull();
+        assertThat(report.getImages()).hasSize(IMAGES_PER_REPORT);
+    }
+
+    private static User user(String username, User.Role role, Area area) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("password")
+                .firstName("Test")
+                .lastName("User")
+                .role(role)
+                .isActive(true)
+                .emailVerified(true)
+                .assignedArea(area)
+                .build();
+    }
+}
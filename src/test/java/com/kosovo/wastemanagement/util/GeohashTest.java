@@ -0,0 +1,114 @@
+package com.kosovo.wastemanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The nearby, area-membership and citizen queries all read the geohash column through
+ * {@link Geohash#coveringRanges}, so a point missed here is a report or bin missing from a result.
+ */
+class GeohashTest {
+
+    private static final int STEPS = 40;
+
+    @Test
+    void encodeMatchesStGeoHash() {
+        // ST_GeoHash(longitude, latitude, length) values from the MySQL reference manual and geohash.org
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(42.6, -5.6, 5)).isEqualTo("ezs42");
+        assertThat(Geohash.encode(0, 180, 10)).isEqualTo("xbpbpbpbpb");
+        assertThat(Geohash.encode(-90, -180, 15)).isEqualTo("000000000000000");
+        assertThat(Geohash.encode(90, 180)).isEqualTo("zzzzzzzzz");
+    }
+
+    @Test
+    void encodeUsesStoredPrecisionByDefault() {
+        assertThat(Geohash.encode(42.6629, 21.1655)).hasSize(Geohash.STORED_PRECISION)
+                .isEqualTo(Geohash.encode(42.6629, 21.1655, Geohash.STORED_PRECISION));
+    }
+
+    @Test
+    void successorCarriesIntoTheNextPrefix() {
+        assertThat(Geohash.successor("u4pr")).isEqualTo("u4ps");
+        assertThat(Geohash.successor("u4pz")).isEqualTo("u4q0");
+        assertThat(Geohash.successor("bz")).isEqualTo("c0");
+    }
+
+    @Test
+    void successorOfTheLastPrefixSortsAfterEveryStoredHash() {
+        String end = Geohash.successor("zz");
+        assertThat(end.compareTo(Geohash.encode(90, 180))).isPositive();
+        assertThat(end.compareTo("zz")).isPositive();
+    }
+
+    @Test
+    void coversEveryPointOfABoxInsideOneTopLevelCell() {
+        // Prishtina
+        assertCovers(42.60, 21.10, 42.70, 21.25, 64);
+    }
+
+    @Test
+    void coversBoxesAcrossPrefixBoundaries() {
+        // The equator and prime meridian split the top-level cells 7, e, k and s
+        assertCovers(-1, -1, 1, 1, 64);
+        List<Geohash.Range> ranges = Geohash.coveringRanges(-1, -1, 1, 1, 64);
+        // Adjacent cells whose prefixes carry, such as 7zz and 800, merge into one range
+        assertThat(ranges).contains(new Geohash.Range("7zz", "800"));
+    }
+
+    @Test
+    void coversBoxesAtTheEndOfTheKeyspace() {
+        assertCovers(89.9, 179.9, 90, 180, 64);
+        List<Geohash.Range> ranges = Geohash.coveringRanges(89.9, 179.9, 90, 180, 64);
+        assertThat(ranges.get(ranges.size() - 1).to().compareTo(Geohash.encode(90, 180))).isPositive();
+    }
+
+    @Test
+    void coversBoxesAtTheStartOfTheKeyspace() {
+        assertCovers(-90, -180, -89.9, -179.9, 64);
+    }
+
+    @Test
+    void returnsSortedDisjointRanges() {
+        List<Geohash.Range> ranges = Geohash.coveringRanges(41.8, 20.0, 43.3, 21.8, 64);
+        for (int i = 0; i < ranges.size(); i++) {
+            assertThat(ranges.get(i).from().compareTo(ranges.get(i).to())).isNegative();
+            if (i > 0) {
+                assertThat(ranges.get(i - 1).to().compareTo(ranges.get(i).from())).isNegative();
+            }
+        }
+    }
+
+    @Test
+    void coversRandomBoxes() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 200; i++) {
+            // Sizes from a few metres to tens of degrees
+            double height = Math.pow(10, random.nextDouble(-4, 1.3));
+            double width = Math.pow(10, random.nextDouble(-4, 1.3));
+            double minLat = random.nextDouble(-90, 90 - height);
+            double minLon = random.nextDouble(-180, 180 - width);
+            assertCovers(minLat, minLon, minLat + height, minLon + width, 1 + random.nextInt(64));
+        }
+    }
+
+    // Walks a grid over the box, edges included, and checks each stored hash falls in some range
+    private static void assertCovers(double minLat, double minLon, double maxLat, double maxLon, int maxCells) {
+        List<Geohash.Range> ranges = Geohash.coveringRanges(minLat, minLon, maxLat, maxLon, maxCells);
+        assertThat(ranges).isNotEmpty();
+        for (int i = 0; i <= STEPS; i++) {
+            double lat = minLat + (maxLat - minLat) * i / STEPS;
+            for (int j = 0; j <= STEPS; j++) {
+                double lon = minLon + (maxLon - minLon) * j / STEPS;
+                String hash = Geohash.encode(lat, lon);
+                assertThat(ranges.stream().anyMatch(r -> hash.compareTo(r.from()) >= 0 && hash.compareTo(r.to()) < 0))
+                        .as("%s (%f, %f) in %s", hash, lat, lon, ranges)
+                        .isTrue();
+            }
+        }
+    }
+}